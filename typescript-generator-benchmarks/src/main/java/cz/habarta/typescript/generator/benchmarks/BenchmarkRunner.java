@@ -0,0 +1,30 @@
+
+package cz.habarta.typescript.generator.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.*;
+
+
+/**
+ * Runs parse, compile and emit benchmarks and reports time and allocation rate of each stage.
+ *
+ * Usage (from project root):
+ * <pre>
+ * mvn -P benchmarks install -DskipTests
+ * java -jar typescript-generator-benchmarks/target/benchmarks.jar [JMH options]
+ * </pre>
+ * JMH options can be used to select benchmarks or parameters, for example <code>Parse -p model=deep -p size=2000</code>.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+}
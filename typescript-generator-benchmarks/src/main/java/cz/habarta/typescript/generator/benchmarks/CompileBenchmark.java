@@ -0,0 +1,22 @@
+
+package cz.habarta.typescript.generator.benchmarks;
+
+import cz.habarta.typescript.generator.TypeScriptGenerator;
+import cz.habarta.typescript.generator.emitter.TsModel;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompileBenchmark {
+
+    @Benchmark
+    public TsModel javaToTypeScript(ModelState state) {
+        return new TypeScriptGenerator(state.settings).getModelCompiler().javaToTypeScript(state.parsedModel);
+    }
+
+}
@@ -0,0 +1,24 @@
+
+package cz.habarta.typescript.generator.benchmarks;
+
+import cz.habarta.typescript.generator.emitter.Emitter;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EmitBenchmark {
+
+    @Benchmark
+    public String emit(ModelState state) {
+        final StringWriter writer = new StringWriter();
+        new Emitter(state.settings).emit(state.tsModel, writer, null, false, false, 0);
+        return writer.toString();
+    }
+
+}
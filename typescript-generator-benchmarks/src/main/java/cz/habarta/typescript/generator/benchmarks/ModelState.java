@@ -0,0 +1,69 @@
+
+package cz.habarta.typescript.generator.benchmarks;
+
+import cz.habarta.typescript.generator.*;
+import cz.habarta.typescript.generator.emitter.TsModel;
+import cz.habarta.typescript.generator.parser.*;
+import java.io.*;
+import java.lang.reflect.Type;
+import java.util.*;
+import org.openjdk.jmh.annotations.*;
+
+
+/**
+ * Synthetic model with its parsed and compiled forms prepared for individual pipeline stages.
+ */
+@State(Scope.Benchmark)
+public class ModelState {
+
+    @Param({"wide", "deep", "generic", "taggedUnions", "jaxrs"})
+    public SyntheticModel model;
+
+    @Param({"500"})
+    public int size;
+
+    public Settings settings;
+    public List<SourceType<Type>> sourceTypes;
+    public Model parsedModel;
+    public TsModel tsModel;
+
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // generator reports progress to standard output which would distort measurements
+        originalOut = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+        settings = createSettings(model);
+        sourceTypes = new ArrayList<>();
+        for (Class<?> cls : model.load(size)) {
+            sourceTypes.add(new SourceType<Type>(cls));
+        }
+        parsedModel = new TypeScriptGenerator(settings).getModelParser().parseModel(sourceTypes);
+        tsModel = new TypeScriptGenerator(settings).getModelCompiler().javaToTypeScript(parsedModel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(originalOut);
+    }
+
+    private static Settings createSettings(SyntheticModel model) {
+        final Settings settings = new Settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.jsonLibrary = JsonLibrary.jackson2;
+        settings.noFileComment = true;
+        if (model == SyntheticModel.jaxrs) {
+            settings.generateJaxrsApplicationInterface = true;
+        }
+        return settings;
+    }
+
+}
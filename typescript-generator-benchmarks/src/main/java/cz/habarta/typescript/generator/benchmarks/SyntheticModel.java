@@ -0,0 +1,203 @@
+
+package cz.habarta.typescript.generator.benchmarks;
+
+import java.io.*;
+import java.net.*;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+import javax.tools.*;
+
+
+/**
+ * Generates Java source code of synthetic models, compiles it and loads compiled classes.
+ */
+public enum SyntheticModel {
+
+    /**
+     * Many independent classes with many properties.
+     */
+    wide {
+        @Override
+        protected void generate(Sources sources, int size) {
+            sources.add("Status", "public enum Status { New, Active, Suspended, Deleted }");
+            for (int i = 0; i < size; i++) {
+                final StringBuilder sb = new StringBuilder();
+                sb.append("public class Wide" + i + " {\n");
+                for (int p = 0; p < 20; p++) {
+                    sb.append("    public String text" + p + ";\n");
+                    sb.append("    public int number" + p + ";\n");
+                }
+                sb.append("    public java.util.Date created;\n");
+                sb.append("    public java.util.List<String> tags;\n");
+                sb.append("    public Status status;\n");
+                if (i > 0) {
+                    sb.append("    public Wide" + (i - 1) + " previous;\n");
+                }
+                sb.append("}\n");
+                sources.add("Wide" + i, sb.toString());
+            }
+        }
+    },
+
+    /**
+     * Class hierarchies with deep inheritance, each level implementing an interface.
+     */
+    deep {
+        @Override
+        protected void generate(Sources sources, int size) {
+            final int depth = 20;
+            for (int h = 0; h < Math.max(1, size / depth); h++) {
+                for (int level = 0; level < depth; level++) {
+                    final String name = "Deep" + h + "_" + level;
+                    sources.add("IDeep" + h + "_" + level,
+                            "public interface IDeep" + h + "_" + level + " {\n" +
+                            "    String getInterfaceValue" + level + "();\n" +
+                            "}\n");
+                    sources.add(name,
+                            "public class " + name + (level > 0 ? " extends Deep" + h + "_" + (level - 1) : "") + " implements IDeep" + h + "_" + level + " {\n" +
+                            "    public String value" + level + ";\n" +
+                            "    public long counter" + level + ";\n" +
+                            "    public String shared;\n" +
+                            "    public String getInterfaceValue" + level + "() { return null; }\n" +
+                            "}\n");
+                }
+            }
+        }
+    },
+
+    /**
+     * Classes using generic types with nested type arguments.
+     */
+    generic {
+        @Override
+        protected void generate(Sources sources, int size) {
+            sources.add("Page", "public class Page<T> { public java.util.List<T> items; public int total; }");
+            sources.add("Pair", "public class Pair<A, B> { public A first; public B second; }");
+            sources.add("Tree", "public class Tree<T> { public T value; public java.util.List<Tree<T>> children; }");
+            for (int i = 0; i < size; i++) {
+                sources.add("Generic" + i,
+                        "public class Generic" + i + "<T> {\n" +
+                        "    public T value;\n" +
+                        "    public Page<Pair<String, T>> page;\n" +
+                        "    public java.util.Map<String, java.util.List<Tree<T>>> trees;\n" +
+                        (i > 0 ? "    public Generic" + (i - 1) + "<Page<T>> nested;\n" : "") +
+                        "}\n");
+            }
+        }
+    },
+
+    /**
+     * Polymorphic class hierarchies with Jackson type information which are generated as tagged unions.
+     */
+    taggedUnions {
+        @Override
+        protected void generate(Sources sources, int size) {
+            final int subclasses = 10;
+            for (int u = 0; u < Math.max(1, size / subclasses); u++) {
+                final StringBuilder subTypes = new StringBuilder();
+                for (int s = 0; s < subclasses; s++) {
+                    final String name = "Case" + u + "_" + s;
+                    subTypes.append(s > 0 ? ",\n" : "").append("    @com.fasterxml.jackson.annotation.JsonSubTypes.Type(value = " + name + ".class, name = \"" + name + "\")");
+                    sources.add(name,
+                            "public class " + name + " extends Union" + u + " {\n" +
+                            "    public String value" + s + ";\n" +
+                            "    public Union" + u + " next;\n" +
+                            "}\n");
+                }
+                sources.add("Union" + u,
+                        "@com.fasterxml.jackson.annotation.JsonTypeInfo(use = com.fasterxml.jackson.annotation.JsonTypeInfo.Id.NAME, property = \"kind\")\n" +
+                        "@com.fasterxml.jackson.annotation.JsonSubTypes({\n" + subTypes + "\n})\n" +
+                        "public abstract class Union" + u + " {\n" +
+                        "    public String id;\n" +
+                        "}\n");
+            }
+        }
+    },
+
+    /**
+     * JAX-RS resources with methods consuming and producing data classes.
+     */
+    jaxrs {
+        @Override
+        protected void generate(Sources sources, int size) {
+            final int methods = 10;
+            for (int r = 0; r < Math.max(1, size / methods); r++) {
+                final StringBuilder sb = new StringBuilder();
+                sb.append("@javax.ws.rs.Path(\"resource" + r + "\")\n");
+                sb.append("public class Resource" + r + " {\n");
+                for (int m = 0; m < methods; m++) {
+                    final String dto = "Dto" + r + "_" + m;
+                    sources.add(dto, "public class " + dto + " { public String name; public int count; public java.util.List<String> values; }");
+                    sb.append("    @javax.ws.rs.GET @javax.ws.rs.Path(\"get" + m + "/{id}\")\n");
+                    sb.append("    public " + dto + " get" + m + "(@javax.ws.rs.PathParam(\"id\") String id, @javax.ws.rs.QueryParam(\"q\") String q) { return null; }\n");
+                    sb.append("    @javax.ws.rs.POST @javax.ws.rs.Path(\"post" + m + "\")\n");
+                    sb.append("    public java.util.List<" + dto + "> post" + m + "(" + dto + " body) { return null; }\n");
+                }
+                sb.append("}\n");
+                sources.add("Resource" + r, sb.toString());
+            }
+        }
+    };
+
+    protected abstract void generate(Sources sources, int size);
+
+    /**
+     * Generates, compiles and loads classes of this model.
+     * @param size approximate number of classes
+     * @return top-level classes of the model
+     */
+    public List<Class<?>> load(int size) {
+        try {
+            final String packageName = "synthetic." + name();
+            final Sources sources = new Sources();
+            generate(sources, size);
+            final Path directory = Files.createTempDirectory("typescript-generator-benchmarks");
+            final List<File> files = new ArrayList<>();
+            for (Map.Entry<String, String> entry : sources.sources.entrySet()) {
+                final Path file = directory.resolve(packageName.replace('.', File.separatorChar)).resolve(entry.getKey() + ".java");
+                Files.createDirectories(file.getParent());
+                Files.write(file, ("package " + packageName + ";\n\n" + entry.getValue()).getBytes(Charset.forName("UTF-8")));
+                files.add(file.toFile());
+            }
+            compile(directory.toFile(), files);
+            final URLClassLoader classLoader = new URLClassLoader(new URL[] {directory.toUri().toURL()}, SyntheticModel.class.getClassLoader());
+            final List<Class<?>> classes = new ArrayList<>();
+            for (String name : sources.sources.keySet()) {
+                classes.add(classLoader.loadClass(packageName + "." + name));
+            }
+            return classes;
+        } catch (IOException | ReflectiveOperationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void compile(File outputDirectory, List<File> files) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new RuntimeException("Java compiler is not available, benchmarks must be run using JDK.");
+        }
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, Charset.forName("UTF-8"))) {
+            final List<String> options = Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", outputDirectory.getPath(),
+                    "-nowarn");
+            final StringWriter output = new StringWriter();
+            final boolean success = compiler.getTask(output, fileManager, null, options, null, fileManager.getJavaFileObjectsFromFiles(files)).call();
+            if (!success) {
+                throw new RuntimeException("Compilation of synthetic model failed: " + output);
+            }
+        }
+    }
+
+    protected static class Sources {
+
+        private final Map<String, String> sources = new LinkedHashMap<>();
+
+        public void add(String className, String source) {
+            sources.put(className, source);
+        }
+
+    }
+
+}
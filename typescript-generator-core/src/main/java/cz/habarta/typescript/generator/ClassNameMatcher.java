@@ -0,0 +1,100 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.util.Predicate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+
+/**
+ * Matches class names against set of exact names and glob patterns.
+ * Patterns are grouped by their literal prefix (text before the first wildcard)
+ * and each group is compiled into single regular expression
+ * so only patterns which can possibly match given class name are evaluated.
+ * Results are memoized.
+ */
+public class ClassNameMatcher implements Predicate<String> {
+
+    private static final int MaxMemoizedResults = 100_000;
+
+    private final Set<String> names;
+    private final List<String> globs;
+    private final Map<String, Pattern> patternsByPrefix;
+    private final int[] prefixLengths;
+    private final Map<String, Boolean> results = new ConcurrentHashMap<>();
+
+    public ClassNameMatcher(List<String> names, List<String> globs) {
+        this.names = new LinkedHashSet<>(names != null ? names : Collections.<String>emptyList());
+        this.globs = new ArrayList<>(globs != null ? globs : Collections.<String>emptyList());
+        final Map<String, List<String>> regexpsByPrefix = new LinkedHashMap<>();
+        for (String glob : this.globs) {
+            final int wildcard = glob.indexOf('*');
+            final String prefix = wildcard != -1 ? glob.substring(0, wildcard) : glob;
+            if (!regexpsByPrefix.containsKey(prefix)) {
+                regexpsByPrefix.put(prefix, new ArrayList<String>());
+            }
+            regexpsByPrefix.get(prefix).add(Input.globToRegexp(glob).pattern());
+        }
+        this.patternsByPrefix = new HashMap<>();
+        final Set<Integer> lengths = new TreeSet<>();
+        for (Map.Entry<String, List<String>> entry : regexpsByPrefix.entrySet()) {
+            final StringBuilder sb = new StringBuilder();
+            for (String regexp : entry.getValue()) {
+                sb.append(sb.length() > 0 ? "|" : "").append("(?:").append(regexp).append(")");
+            }
+            patternsByPrefix.put(entry.getKey(), Pattern.compile(sb.toString()));
+            lengths.add(entry.getKey().length());
+        }
+        this.prefixLengths = new int[lengths.size()];
+        int index = 0;
+        for (Integer length : lengths) {
+            prefixLengths[index++] = length;
+        }
+    }
+
+    public static ClassNameMatcher fromGlobs(List<String> globs) {
+        return new ClassNameMatcher(null, globs);
+    }
+
+    @Override
+    public boolean test(String className) {
+        final Boolean cachedResult = results.get(className);
+        if (cachedResult != null) {
+            return cachedResult;
+        }
+        final boolean result = names.contains(className) || matchesGlobs(className);
+        if (results.size() < MaxMemoizedResults) {
+            results.put(className, result);
+        }
+        return result;
+    }
+
+    private boolean matchesGlobs(String className) {
+        for (int length : prefixLengths) {
+            if (length > className.length()) {
+                break;
+            }
+            final Pattern pattern = patternsByPrefix.get(className.substring(0, length));
+            if (pattern != null && pattern.matcher(className).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> filter(List<String> classNames) {
+        final List<String> result = new ArrayList<>();
+        for (String className : classNames) {
+            if (test(className)) {
+                result.add(className);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassNameMatcher{names=" + names + ", patterns=" + globs + "}";
+    }
+
+}
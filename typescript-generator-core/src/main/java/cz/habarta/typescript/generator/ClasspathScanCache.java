@@ -0,0 +1,241 @@
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import cz.habarta.typescript.generator.util.Utils;
+import io.github.lukehutch.fastclasspathscanner.FastClasspathScanner;
+import java.io.*;
+import java.net.*;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.*;
+import java.util.*;
+import javax.ws.rs.Path;
+
+
+/**
+ * Caches results of classpath scanning.
+ * Results are shared by all generator executions in the same JVM (for example all executions of Maven plugin in one build)
+ * and optionally persisted to a file so they can be reused by subsequent builds.
+ * Cached result is only used when classpath elements and their content (jar size and modification time,
+ * number and modification time of class files in directories) did not change.
+ */
+public class ClasspathScanCache {
+
+    private static final int MaxSessionEntries = 16;
+
+    private static final Map<String, ClasspathScanResult> sessionCache = new LinkedHashMap<String, ClasspathScanResult>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ClasspathScanResult> eldest) {
+            return size() > MaxSessionEntries;
+        }
+    };
+
+    private ClasspathScanCache() {
+    }
+
+    /**
+     * Scans whole classpath of thread context class loader or returns cached result.
+     * @param persistentCacheFile file where scan result is persisted between builds, can be <code>null</code>
+     */
+    public static ClasspathScanResult scan(File persistentCacheFile) {
+        return scan(Collections.<String>emptyList(), false, persistentCacheFile);
+    }
+
+    /**
+     * Scans classpath of thread context class loader or returns cached result.
+     * @param packagePrefixes if not empty only classes in these packages (and their subpackages) are scanned
+     * @param directoriesOnly if <code>true</code> jar files are skipped and only directories on classpath are scanned
+     * @param persistentCacheFile file where scan result is persisted between builds, can be <code>null</code>
+     */
+    public static ClasspathScanResult scan(List<String> packagePrefixes, boolean directoriesOnly, File persistentCacheFile) {
+        return scan(packagePrefixes, directoriesOnly, persistentCacheFile, null);
+    }
+
+    /**
+     * Scans classpath of specified class loader (or thread context class loader when it is <code>null</code>) or returns cached result.
+     * Thread context class loader is not changed so scanning can run concurrently with other code.
+     * @param classLoader class loader whose URLs (including URLs of its parents) and system classpath are scanned, can be <code>null</code>
+     */
+    public static ClasspathScanResult scan(List<String> packagePrefixes, boolean directoriesOnly, File persistentCacheFile, ClassLoader classLoader) {
+        final String[] scanSpec = packagePrefixes.toArray(new String[0]);
+        FastClasspathScanner scanner = new FastClasspathScanner(scanSpec);
+        if (classLoader != null) {
+            scanner.overrideClasspath(getClasspath(classLoader));
+        }
+        List<File> classpathElements = scanner.getUniqueClasspathElements();
+        if (directoriesOnly) {
+            final List<File> directories = new ArrayList<>();
+            for (File element : classpathElements) {
+                if (element.isDirectory()) {
+                    directories.add(element);
+                }
+            }
+            if (directories.isEmpty()) {
+                System.out.println("Warning: No directories found on classpath");
+                return new ClasspathScanResult();
+            }
+            scanner = new FastClasspathScanner(scanSpec).overrideClasspath(Utils.join(directories, File.pathSeparator));
+            classpathElements = directories;
+        }
+        final String key = computeKey(packagePrefixes, classpathElements);
+        synchronized (sessionCache) {
+            final ClasspathScanResult cachedResult = sessionCache.get(key);
+            if (cachedResult != null) {
+                System.out.println("Using cached classpath scan result");
+                return cachedResult;
+            }
+        }
+        ClasspathScanResult result = persistentCacheFile != null ? load(persistentCacheFile, key) : null;
+        if (result != null) {
+            System.out.println("Using classpath scan result from " + persistentCacheFile);
+        } else {
+            result = scan(scanner, packagePrefixes, directoriesOnly);
+            if (persistentCacheFile != null) {
+                store(persistentCacheFile, key, result);
+            }
+        }
+        synchronized (sessionCache) {
+            sessionCache.put(key, result);
+        }
+        return result;
+    }
+
+    public static void clear() {
+        synchronized (sessionCache) {
+            sessionCache.clear();
+        }
+    }
+
+    /**
+     * Returns system classpath followed by file URLs of specified class loader and its parents.
+     */
+    private static String getClasspath(ClassLoader classLoader) {
+        final Set<String> elements = new LinkedHashSet<>();
+        final String systemClasspath = System.getProperty("java.class.path");
+        if (systemClasspath != null && !systemClasspath.isEmpty()) {
+            elements.addAll(Arrays.asList(systemClasspath.split(File.pathSeparator)));
+        }
+        final List<ClassLoader> classLoaders = new ArrayList<>();
+        for (ClassLoader loader = classLoader; loader != null; loader = loader.getParent()) {
+            classLoaders.add(0, loader);
+        }
+        for (ClassLoader loader : classLoaders) {
+            if (loader instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) loader).getURLs()) {
+                    if ("file".equals(url.getProtocol())) {
+                        try {
+                            elements.add(new File(url.toURI()).getPath());
+                        } catch (URISyntaxException e) {
+                            elements.add(url.getPath());
+                        }
+                    }
+                }
+            }
+        }
+        return Utils.join(elements, File.pathSeparator);
+    }
+
+    private static ClasspathScanResult scan(FastClasspathScanner scanner, List<String> packagePrefixes, boolean directoriesOnly) {
+        System.out.println("Scanning classpath"
+                + (directoriesOnly ? " directories" : "")
+                + (!packagePrefixes.isEmpty() ? " in packages " + packagePrefixes : ""));
+        final Date scanStart = new Date();
+        scanner.scan();
+        final ClasspathScanResult result = new ClasspathScanResult();
+        result.standardClassNames = scanner.getNamesOfAllStandardClasses();
+        result.interfaceClassNames = scanner.getNamesOfAllInterfaceClasses();
+        result.pathAnnotatedClassNames = scanner.getNamesOfClassesWithAnnotation(Path.class);
+        final int count = scanner.getNamesOfAllClasses().size();
+        final Date scanEnd = new Date();
+        final double timeInSeconds = (scanEnd.getTime() - scanStart.getTime()) / 1000.0;
+        System.out.println(String.format("Scanning finished in %.2f seconds. Total number of classes: %d.", timeInSeconds, count));
+        return result;
+    }
+
+    private static String computeKey(List<String> packagePrefixes, List<File> classpathElements) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(packagePrefixes).append("\n");
+        for (File element : classpathElements) {
+            sb.append(element.getAbsolutePath());
+            if (element.isDirectory()) {
+                final long[] stats = getDirectoryStats(element.toPath());
+                sb.append(":").append(stats[0]).append(":").append(stats[1]);
+            } else {
+                sb.append(":").append(element.length()).append(":").append(element.lastModified());
+            }
+            sb.append("\n");
+        }
+        try {
+            final byte[] hash = MessageDigest.getInstance("SHA-256").digest(sb.toString().getBytes(Charset.forName("UTF-8")));
+            final StringBuilder hex = new StringBuilder();
+            for (byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return number of files and latest modification time of files and directories
+     */
+    private static long[] getDirectoryStats(java.nio.file.Path directory) {
+        final long[] stats = new long[2];
+        try {
+            Files.walkFileTree(directory, new SimpleFileVisitor<java.nio.file.Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(java.nio.file.Path dir, BasicFileAttributes attrs) {
+                    stats[1] = Math.max(stats[1], attrs.lastModifiedTime().toMillis());
+                    return FileVisitResult.CONTINUE;
+                }
+                @Override
+                public FileVisitResult visitFile(java.nio.file.Path file, BasicFileAttributes attrs) {
+                    stats[0]++;
+                    stats[1] = Math.max(stats[1], attrs.lastModifiedTime().toMillis());
+                    return FileVisitResult.CONTINUE;
+                }
+                @Override
+                public FileVisitResult visitFileFailed(java.nio.file.Path file, IOException exc) {
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            stats[0] = -1;
+        }
+        return stats;
+    }
+
+    private static ClasspathScanResult load(File file, String key) {
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            final PersistentCache cache = new ObjectMapper().readValue(file, PersistentCache.class);
+            return key.equals(cache.key) ? cache.result : null;
+        } catch (IOException e) {
+            System.out.println("Warning: Cannot read classpath scan cache '" + file + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void store(File file, String key, ClasspathScanResult result) {
+        final PersistentCache cache = new PersistentCache();
+        cache.key = key;
+        cache.result = result;
+        try {
+            file.getAbsoluteFile().getParentFile().mkdirs();
+            new ObjectMapper().writeValue(file, cache);
+        } catch (IOException e) {
+            System.out.println("Warning: Cannot write classpath scan cache '" + file + "': " + e.getMessage());
+        }
+    }
+
+    static class PersistentCache {
+        public String key;
+        public ClasspathScanResult result;
+    }
+
+}
@@ -0,0 +1,15 @@
+package cz.habarta.typescript.generator;
+
+import java.util.*;
+
+
+/**
+ * Names of classes found by scanning classpath.
+ */
+public class ClasspathScanResult {
+
+    public List<String> standardClassNames = new ArrayList<>();
+    public List<String> interfaceClassNames = new ArrayList<>();
+    public List<String> pathAnnotatedClassNames = new ArrayList<>();
+
+}
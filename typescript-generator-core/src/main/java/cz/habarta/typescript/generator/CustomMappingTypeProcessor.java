@@ -6,7 +6,7 @@ import java.lang.reflect.Type;
 import java.util.*;
 
 
-public class CustomMappingTypeProcessor implements TypeProcessor {
+public class CustomMappingTypeProcessor implements TypeProcessor.RawClassRestricted {
 
     private final Map<String, String> customMappings;
 
@@ -14,6 +14,11 @@ public class CustomMappingTypeProcessor implements TypeProcessor {
         this.customMappings = customMappings;
     }
 
+    @Override
+    public boolean isApplicableTo(Class<?> rawClass) {
+        return customMappings.containsKey(rawClass.getName());
+    }
+
     @Override
     public Result processType(Type javaType, Context context) {
         final Class<?> rawClass = Utils.getRawClassOrNull(javaType);
@@ -14,11 +14,9 @@ public class DefaultTypeProcessor implements TypeProcessor {
     public Result processType(Type javaType, Context context) {
         if (KnownTypes.containsKey(javaType)) return new Result(KnownTypes.get(javaType));
         // map JAX-RS standard types to `any`
-        for (Class<?> cls : JaxrsApplicationParser.getStandardEntityClasses()) {
-            final Class<?> rawClass = Utils.getRawClassOrNull(javaType);
-            if (rawClass != null && cls.isAssignableFrom(rawClass)) {
-                return new Result(TsType.Any);
-            }
+        final Class<?> rawClass = Utils.getRawClassOrNull(javaType);
+        if (rawClass != null && StandardEntityClasses.get(rawClass)) {
+            return new Result(TsType.Any);
         }
         if (javaType instanceof Class) {
             final Class<?> javaClass = (Class<?>) javaType;
@@ -125,4 +123,16 @@ public class DefaultTypeProcessor implements TypeProcessor {
 
     private static final Map<Type, TsType> KnownTypes = getKnownTypes();
 
+    private static final ClassValue<Boolean> StandardEntityClasses = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> rawClass) {
+            for (Class<?> cls : JaxrsApplicationParser.getStandardEntityClasses()) {
+                if (cls.isAssignableFrom(rawClass)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    };
+
 }
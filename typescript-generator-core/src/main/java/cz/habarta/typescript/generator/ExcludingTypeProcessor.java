@@ -6,18 +6,29 @@ import cz.habarta.typescript.generator.util.Utils;
 import java.lang.reflect.Type;
 
 
-public class ExcludingTypeProcessor implements TypeProcessor {
+public class ExcludingTypeProcessor implements TypeProcessor.RawClassRestricted {
 
     private final Predicate<String> excludeFilter;
+    private final ClassValue<Boolean> excluded = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> cls) {
+            return excludeFilter.test(cls.getName());
+        }
+    };
 
     public ExcludingTypeProcessor(Predicate<String> excludeFilter) {
         this.excludeFilter = excludeFilter;
     }
 
+    @Override
+    public boolean isApplicableTo(Class<?> rawClass) {
+        return excluded.get(rawClass);
+    }
+
     @Override
     public Result processType(Type javaType, Context context) {
         final Class<?> rawClass = Utils.getRawClassOrNull(javaType);
-        if (rawClass != null && excludeFilter.test(rawClass.getName())) {
+        if (rawClass != null && excluded.get(rawClass)) {
             return new Result(TsType.Any);
         }
         return null;
@@ -0,0 +1,218 @@
+
+package cz.habarta.typescript.generator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+
+/**
+ * Collects wall time, CPU time and allocated bytes of individual generation stages
+ * and parsing time of individual classes.
+ * CPU time and allocated bytes are measured for the thread which runs the stage
+ * (work done by other threads, for example when parsing in parallel, is not included).
+ * Values which are not supported by the JVM are reported as -1.
+ */
+public class GenerationMetrics {
+
+    private static final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final int slowestClassesCount;
+    private final Map<String, Stage> stages = new LinkedHashMap<>();
+    private final Map<String, Long> classParsingTimes = new LinkedHashMap<>();
+
+    public GenerationMetrics() {
+        this(20);
+    }
+
+    /**
+     * @param slowestClassesCount number of classes reported by {@link #getSlowestClasses()}
+     */
+    public GenerationMetrics(int slowestClassesCount) {
+        this.slowestClassesCount = slowestClassesCount;
+    }
+
+    /**
+     * Starts measuring a stage. Measurements of the same stage are summed up.
+     */
+    public Measurement start(String stageName) {
+        return new Measurement(stageName);
+    }
+
+    public synchronized void recordClassParsing(Class<?> cls, long wallTimeNanos) {
+        final Long previous = classParsingTimes.get(cls.getName());
+        classParsingTimes.put(cls.getName(), (previous != null ? previous : 0) + wallTimeNanos);
+    }
+
+    public synchronized void addAll(GenerationMetrics metrics) {
+        for (Stage stage : metrics.getStages()) {
+            addStage(stage.name, stage.wallTimeNanos, stage.cpuTimeNanos, stage.allocatedBytes);
+        }
+        for (Map.Entry<String, Long> entry : metrics.getClassParsingTimes().entrySet()) {
+            final Long previous = classParsingTimes.get(entry.getKey());
+            classParsingTimes.put(entry.getKey(), (previous != null ? previous : 0) + entry.getValue());
+        }
+    }
+
+    public synchronized List<Stage> getStages() {
+        return new ArrayList<>(stages.values());
+    }
+
+    public synchronized Stage getStage(String name) {
+        return stages.get(name);
+    }
+
+    public synchronized List<ClassParsing> getSlowestClasses() {
+        final List<ClassParsing> result = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : classParsingTimes.entrySet()) {
+            result.add(new ClassParsing(entry.getKey(), entry.getValue()));
+        }
+        Collections.sort(result, new Comparator<ClassParsing>() {
+            @Override
+            public int compare(ClassParsing o1, ClassParsing o2) {
+                return Long.compare(o2.wallTimeNanos, o1.wallTimeNanos);
+            }
+        });
+        return result.size() > slowestClassesCount ? new ArrayList<>(result.subList(0, slowestClassesCount)) : result;
+    }
+
+    private synchronized Map<String, Long> getClassParsingTimes() {
+        return new LinkedHashMap<>(classParsingTimes);
+    }
+
+    private synchronized void addStage(String name, long wallTimeNanos, long cpuTimeNanos, long allocatedBytes) {
+        final Stage previous = stages.get(name);
+        if (previous != null) {
+            stages.put(name, new Stage(name,
+                    previous.wallTimeNanos + wallTimeNanos,
+                    sum(previous.cpuTimeNanos, cpuTimeNanos),
+                    sum(previous.allocatedBytes, allocatedBytes)));
+        } else {
+            stages.put(name, new Stage(name, wallTimeNanos, cpuTimeNanos, allocatedBytes));
+        }
+    }
+
+    private static long sum(long value1, long value2) {
+        return value1 < 0 || value2 < 0 ? -1 : value1 + value2;
+    }
+
+    private static long getCurrentThreadCpuTime() {
+        try {
+            return threadMXBean.isCurrentThreadCpuTimeSupported() ? threadMXBean.getCurrentThreadCpuTime() : -1;
+        } catch (UnsupportedOperationException e) {
+            return -1;
+        }
+    }
+
+    private static long getCurrentThreadAllocatedBytes() {
+        try {
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+                if (sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+                    return sunThreadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+                }
+            }
+            return -1;
+        } catch (UnsupportedOperationException | LinkageError e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("GenerationMetrics{");
+        sb.append(String.format("%n"));
+        for (Stage stage : getStages()) {
+            sb.append("  ");
+            sb.append(stage);
+            sb.append(String.format("%n"));
+        }
+        sb.append('}');
+        return sb.toString();
+    }
+
+    public class Measurement {
+
+        private final String stageName;
+        private final long startWallTime;
+        private final long startCpuTime;
+        private final long startAllocatedBytes;
+
+        private Measurement(String stageName) {
+            this.stageName = stageName;
+            this.startAllocatedBytes = getCurrentThreadAllocatedBytes();
+            this.startCpuTime = getCurrentThreadCpuTime();
+            this.startWallTime = System.nanoTime();
+        }
+
+        public void stop() {
+            final long wallTime = System.nanoTime() - startWallTime;
+            final long cpuTime = getCurrentThreadCpuTime();
+            final long allocatedBytes = getCurrentThreadAllocatedBytes();
+            addStage(stageName,
+                    wallTime,
+                    startCpuTime >= 0 && cpuTime >= 0 ? cpuTime - startCpuTime : -1,
+                    startAllocatedBytes >= 0 && allocatedBytes >= 0 ? allocatedBytes - startAllocatedBytes : -1);
+        }
+
+    }
+
+    public static class Stage {
+
+        private final String name;
+        private final long wallTimeNanos;
+        private final long cpuTimeNanos;
+        private final long allocatedBytes;
+
+        public Stage(String name, long wallTimeNanos, long cpuTimeNanos, long allocatedBytes) {
+            this.name = name;
+            this.wallTimeNanos = wallTimeNanos;
+            this.cpuTimeNanos = cpuTimeNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getWallTimeNanos() {
+            return wallTimeNanos;
+        }
+
+        public long getCpuTimeNanos() {
+            return cpuTimeNanos;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: wall %.2f ms, cpu %.2f ms, allocated %d bytes", name, wallTimeNanos / 1e6, cpuTimeNanos / 1e6, allocatedBytes);
+        }
+
+    }
+
+    public static class ClassParsing {
+
+        private final String className;
+        private final long wallTimeNanos;
+
+        public ClassParsing(String className, long wallTimeNanos) {
+            this.className = className;
+            this.wallTimeNanos = wallTimeNanos;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public long getWallTimeNanos() {
+            return wallTimeNanos;
+        }
+
+    }
+
+}
@@ -0,0 +1,27 @@
+
+package cz.habarta.typescript.generator;
+
+
+/**
+ * One output generated by {@link TypeScriptGenerator#generateTypeScript(Input, java.util.List)}
+ * together with settings used to compile and emit it.
+ */
+public class GenerationTarget {
+
+    private final Settings settings;
+    private final Output output;
+
+    public GenerationTarget(Settings settings, Output output) {
+        this.settings = settings;
+        this.output = output;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    public Output getOutput() {
+        return output;
+    }
+
+}
@@ -0,0 +1,291 @@
+
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.parser.*;
+import java.io.*;
+import java.lang.reflect.*;
+import java.nio.charset.Charset;
+import java.security.*;
+import java.util.*;
+
+
+/**
+ * Remembers fingerprint of previous generation (generator version, settings, input types
+ * and bytecode of all classes which contributed to the model)
+ * so that generation can be skipped when nothing changed.
+ * Configured objects (like extensions or custom type processor) are fingerprinted by their fields,
+ * if some setting cannot be fingerprinted reliably the cache is not used.
+ */
+class IncrementalCache {
+
+    private static final String VersionKey = "version";
+    private static final String OutputKey = "output";
+    private static final String SettingsKey = "settings";
+    private static final String InputKey = "input";
+    private static final String ClassKeyPrefix = "class.";
+    private static final int MaxDescribedObjectsDepth = 8;
+
+    private final Settings settings;
+    private final File cacheFile;
+    private final File outputFile;
+    // computed before generation so it is not affected by state changed while generating (null if settings cannot be fingerprinted)
+    private final String settingsHash;
+
+    public IncrementalCache(Settings settings, File cacheFile, String outputName) {
+        this.settings = settings;
+        this.cacheFile = cacheFile;
+        this.outputFile = outputName != null ? new File(outputName) : null;
+        this.settingsHash = getSettingsHash();
+    }
+
+    public boolean isUpToDate(List<String> inputNames) {
+        if (outputFile == null || settingsHash == null || !outputFile.exists() || !cacheFile.exists()) {
+            return false;
+        }
+        final Properties cache = load();
+        if (cache == null) {
+            return false;
+        }
+        if (!Objects.equals(cache.getProperty(VersionKey), String.valueOf(TypeScriptGenerator.Version))
+                || !Objects.equals(cache.getProperty(OutputKey), outputFile.getPath())
+                || !Objects.equals(cache.getProperty(SettingsKey), settingsHash)
+                || !Objects.equals(cache.getProperty(InputKey), inputNames.toString())) {
+            return false;
+        }
+        final ClassLoader classLoader = getClassLoader();
+        for (String key : cache.stringPropertyNames()) {
+            if (key.startsWith(ClassKeyPrefix)) {
+                final String className = key.substring(ClassKeyPrefix.length());
+                if (!Objects.equals(cache.getProperty(key), getClassHash(classLoader, className))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void store(List<String> inputNames, Model model) {
+        if (outputFile == null) {
+            return;
+        }
+        if (settingsHash == null) {
+            // don't leave cache of previous settings which could be matched later
+            cacheFile.delete();
+            return;
+        }
+        final Properties cache = new Properties();
+        cache.setProperty(VersionKey, String.valueOf(TypeScriptGenerator.Version));
+        cache.setProperty(OutputKey, outputFile.getPath());
+        cache.setProperty(SettingsKey, settingsHash);
+        cache.setProperty(InputKey, inputNames.toString());
+        final ClassLoader classLoader = getClassLoader();
+        for (String className : getModelClassNames(model)) {
+            cache.setProperty(ClassKeyPrefix + className, getClassHash(classLoader, className));
+        }
+        cacheFile.getAbsoluteFile().getParentFile().mkdirs();
+        try (OutputStream outputStream = new FileOutputStream(cacheFile)) {
+            cache.store(outputStream, "typescript-generator incremental cache");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Properties load() {
+        try (InputStream inputStream = new FileInputStream(cacheFile)) {
+            final Properties cache = new Properties();
+            cache.load(inputStream);
+            return cache;
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Warning: Cannot read incremental cache file '" + cacheFile + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private ClassLoader getClassLoader() {
+        return settings.classLoader != null ? settings.classLoader : Thread.currentThread().getContextClassLoader();
+    }
+
+    private static Set<String> getModelClassNames(Model model) {
+        final Set<String> classNames = new TreeSet<>();
+        for (BeanModel bean : model.getBeans()) {
+            classNames.add(bean.getOrigin().getName());
+        }
+        for (EnumModel<?> enumModel : model.getEnums()) {
+            classNames.add(enumModel.getOrigin().getName());
+        }
+        if (model.getJaxrsApplication() != null) {
+            for (JaxrsMethodModel method : model.getJaxrsApplication().getMethods()) {
+                classNames.add(method.getOriginClass().getName());
+            }
+        }
+        return classNames;
+    }
+
+    private static String getClassHash(ClassLoader classLoader, String className) {
+        final String resourceName = className.replace('.', '/') + ".class";
+        final InputStream inputStream = classLoader != null
+                ? classLoader.getResourceAsStream(resourceName)
+                : ClassLoader.getSystemResourceAsStream(resourceName);
+        if (inputStream == null) {
+            return "missing";
+        }
+        try (InputStream stream = inputStream) {
+            final MessageDigest digest = createDigest();
+            final byte[] buffer = new byte[8192];
+            int count;
+            while ((count = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, count);
+            }
+            return toHex(digest.digest());
+        } catch (IOException e) {
+            return "unreadable";
+        }
+    }
+
+    private String getSettingsHash() {
+        // initializes default exclude filter so it is hashed consistently
+        settings.getExcludeFilter();
+        final List<Field> fields = new ArrayList<>(Arrays.asList(Settings.class.getDeclaredFields()));
+        Collections.sort(fields, new Comparator<Field>() {
+            @Override
+            public int compare(Field f1, Field f2) {
+                return f1.getName().compareTo(f2.getName());
+            }
+        });
+        final StringBuilder sb = new StringBuilder();
+        for (Field field : fields) {
+            if (Modifier.isStatic(field.getModifiers()) || field.getName().equals("classLoader") || field.getName().equals("incrementalCacheFile")) {
+                continue;
+            }
+            try {
+                field.setAccessible(true);
+                sb.append(field.getName()).append('=').append(describe(field.get(settings), new ArrayList<Object>())).append('\n');
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            } catch (UndescribableValueException e) {
+                System.out.println(String.format("Incremental cache is not used because '%s' setting cannot be fingerprinted (%s)", field.getName(), e.getMessage()));
+                return null;
+            }
+        }
+        return toHex(createDigest().digest(sb.toString().getBytes(Charset.forName("UTF-8"))));
+    }
+
+    /**
+     * @param enclosingObjects objects whose fields are being described, used to detect cycles
+     */
+    private static String describe(Object value, List<Object> enclosingObjects) throws UndescribableValueException {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Class<?>) {
+            return ((Class<?>) value).getName();
+        }
+        if (value instanceof File) {
+            final File file = (File) value;
+            return file.getPath() + "@" + file.lastModified();
+        }
+        if (value instanceof Collection<?>) {
+            final List<String> items = new ArrayList<>();
+            for (Object item : (Collection<?>) value) {
+                items.add(describe(item, enclosingObjects));
+            }
+            if (value instanceof Set<?> && !(value instanceof SortedSet<?>) && !(value instanceof LinkedHashSet<?>)) {
+                Collections.sort(items);
+            }
+            return items.toString();
+        }
+        if (value instanceof Map<?, ?>) {
+            final List<String> entries = new ArrayList<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                entries.add(describe(entry.getKey(), enclosingObjects) + "=" + describe(entry.getValue(), enclosingObjects));
+            }
+            if (!(value instanceof SortedMap<?, ?>) && !(value instanceof LinkedHashMap<?, ?>)) {
+                Collections.sort(entries);
+            }
+            return entries.toString();
+        }
+        if (value.getClass().isArray()) {
+            final List<String> items = new ArrayList<>();
+            for (int i = 0; i < Array.getLength(value); i++) {
+                items.add(describe(Array.get(value, i), enclosingObjects));
+            }
+            return items.toString();
+        }
+        if (hasOwnToString(value)) {
+            return value.toString();
+        }
+        return describeFields(value, enclosingObjects);
+    }
+
+    private static String describeFields(Object value, List<Object> enclosingObjects) throws UndescribableValueException {
+        for (Object enclosingObject : enclosingObjects) {
+            if (enclosingObject == value) {
+                throw new UndescribableValueException("cyclic reference in " + value.getClass().getName());
+            }
+        }
+        if (enclosingObjects.size() >= MaxDescribedObjectsDepth) {
+            throw new UndescribableValueException("too deeply nested " + value.getClass().getName());
+        }
+        enclosingObjects.add(value);
+        try {
+            final List<String> fieldValues = new ArrayList<>();
+            for (Class<?> cls = value.getClass(); cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+                final List<Field> fields = new ArrayList<>();
+                for (Field field : cls.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        fields.add(field);
+                    }
+                }
+                // order of declared fields is not specified
+                Collections.sort(fields, new Comparator<Field>() {
+                    @Override
+                    public int compare(Field f1, Field f2) {
+                        return f1.getName().compareTo(f2.getName());
+                    }
+                });
+                for (Field field : fields) {
+                    field.setAccessible(true);
+                    fieldValues.add(field.getName() + "=" + describe(field.get(value), enclosingObjects));
+                }
+            }
+            return value.getClass().getName() + fieldValues;
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new UndescribableValueException("inaccessible fields of " + value.getClass().getName());
+        } finally {
+            enclosingObjects.remove(enclosingObjects.size() - 1);
+        }
+    }
+
+    private static class UndescribableValueException extends Exception {
+        private static final long serialVersionUID = 1;
+
+        public UndescribableValueException(String message) {
+            super(message);
+        }
+    }
+
+    private static boolean hasOwnToString(Object value) {
+        try {
+            return value.getClass().getMethod("toString").getDeclaringClass() != Object.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        final StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+}
@@ -2,8 +2,9 @@
 package cz.habarta.typescript.generator;
 
 import cz.habarta.typescript.generator.parser.*;
+import cz.habarta.typescript.generator.util.ClassFileInfo;
 import cz.habarta.typescript.generator.util.Predicate;
-import io.github.lukehutch.fastclasspathscanner.FastClasspathScanner;
+import java.io.File;
 import java.lang.reflect.*;
 import java.util.*;
 import java.util.regex.Matcher;
@@ -12,16 +13,66 @@ import java.util.regex.Pattern;
 
 public class Input {
 
-    private final List<SourceType<Type>> sourceTypes;
+    private final List<String> lazyClassNames;
+    private final ClassLoader classLoader;
+    private final List<SourceType<Type>> loadedSourceTypes;
+    private final GenerationMetrics metrics;
+    private List<SourceType<Type>> sourceTypes;
 
     private Input(List<SourceType<Type>> sourceTypes) {
-        this.sourceTypes = sourceTypes;
+        this(sourceTypes, new GenerationMetrics());
     }
 
-    public List<SourceType<Type>> getSourceTypes() {
+    private Input(List<SourceType<Type>> sourceTypes, GenerationMetrics metrics) {
+        this(Collections.<String>emptyList(), null, sourceTypes, metrics);
+    }
+
+    /**
+     * @param lazyClassNames names of classes which are loaded when source types are requested for the first time
+     * @param loadedSourceTypes source types following lazily loaded classes
+     */
+    private Input(List<String> lazyClassNames, ClassLoader classLoader, List<SourceType<Type>> loadedSourceTypes, GenerationMetrics metrics) {
+        this.lazyClassNames = lazyClassNames;
+        this.classLoader = classLoader;
+        this.loadedSourceTypes = loadedSourceTypes;
+        this.metrics = metrics;
+    }
+
+    public synchronized List<SourceType<Type>> getSourceTypes() {
+        if (sourceTypes == null) {
+            if (lazyClassNames.isEmpty()) {
+                sourceTypes = loadedSourceTypes;
+            } else {
+                final List<SourceType<Type>> types = new ArrayList<>();
+                types.addAll(loadClasses(lazyClassNames, classLoader, metrics));
+                types.addAll(loadedSourceTypes);
+                sourceTypes = types;
+            }
+        }
         return sourceTypes;
     }
 
+    /**
+     * Returns names of input types without loading classes which were not loaded yet.
+     */
+    public synchronized List<String> getSourceTypeNames() {
+        final List<String> names = new ArrayList<>();
+        if (sourceTypes == null) {
+            names.addAll(lazyClassNames);
+        }
+        for (SourceType<Type> sourceType : sourceTypes != null ? sourceTypes : loadedSourceTypes) {
+            names.add(sourceType.type instanceof Class<?> ? ((Class<?>) sourceType.type).getName() : sourceType.type.toString());
+        }
+        return names;
+    }
+
+    /**
+     * Returns metrics of creating this input (classpath scanning and class loading).
+     */
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
     public static Input from(Type... types) {
         final List<SourceType<Type>> sourceTypes = new ArrayList<>();
         for (Type type : types) {
@@ -31,107 +82,193 @@ public class Input {
     }
 
     public static Input fromClassNamesAndJaxrsApplication(List<String> classNames, List<String> classNamePatterns, String jaxrsApplicationClassName, boolean automaticJaxrsApplication, Predicate<String> isClassNameExcluded, ClassLoader classLoader) {
-        final ClassLoader originalContextClassLoader = Thread.currentThread().getContextClassLoader();
-        try {
-            Thread.currentThread().setContextClassLoader(classLoader);
-            final ClasspathScanner classpathScanner = new ClasspathScanner();
-            final List<SourceType<Type>> types = new ArrayList<>();
-            if (classNames != null) {
-                types.addAll(fromClassNames(classNames).getSourceTypes());
-            }
-            if (classNamePatterns != null) {
-                types.addAll(fromClassNamePatterns(classpathScanner.scanClasspath(), classNamePatterns).getSourceTypes());
-            }
-            if (jaxrsApplicationClassName != null) {
-                types.addAll(fromClassNames(Arrays.asList(jaxrsApplicationClassName)).sourceTypes);
-            }
-            if (automaticJaxrsApplication) {
-                types.addAll(JaxrsApplicationScanner.scanAutomaticJaxrsApplication(classpathScanner.scanClasspath(), isClassNameExcluded));
-            }
-            if (types.isEmpty()) {
-                final String errorMessage = "No input classes found.";
-                System.out.println(errorMessage);
-                throw new RuntimeException(errorMessage);
-            }
-            return new Input(types);
-        } finally {
-            Thread.currentThread().setContextClassLoader(originalContextClassLoader);
+        final Parameters parameters = new Parameters();
+        parameters.classNames = classNames;
+        parameters.classNamePatterns = classNamePatterns;
+        parameters.jaxrsApplicationClassName = jaxrsApplicationClassName;
+        parameters.automaticJaxrsApplication = automaticJaxrsApplication;
+        parameters.isClassNameExcluded = isClassNameExcluded;
+        parameters.classLoader = classLoader;
+        return from(parameters);
+    }
+
+    public static class Parameters {
+        public List<String> classNames;
+        public List<String> classNamePatterns;
+        public String jaxrsApplicationClassName;
+        public boolean automaticJaxrsApplication;
+        public Predicate<String> isClassNameExcluded;
+        public ClassLoader classLoader;
+        /**
+         * File where classpath scan result is persisted so it can be reused by subsequent builds (optional).
+         * Scan result is always shared by all executions in the same JVM while classpath content doesn't change.
+         */
+        public File scanCacheFile;
+        /**
+         * If <code>true</code> jar files are not scanned, only directories on classpath (typically project output directories).
+         */
+        public boolean scanDirectoriesOnly;
+        /**
+         * If <code>true</code> classes specified by names and patterns are filtered using information read directly
+         * from class files (synthetic, anonymous and excluded classes are skipped without loading them)
+         * and remaining classes are loaded without initialization only when input types are needed.
+         */
+        public boolean discoverClassesFromBytecode;
+    }
+
+    /**
+     * Creates input using class loader from parameters (or thread context class loader when it is not specified).
+     * Thread context class loader is not changed so inputs can be created concurrently.
+     */
+    public static Input from(Parameters parameters) {
+        final GenerationMetrics metrics = new GenerationMetrics();
+        final ClassLoader classLoader = parameters.classLoader != null ? parameters.classLoader : Thread.currentThread().getContextClassLoader();
+        // automatic JAX-RS application needs to find resources in all packages
+        final List<String> packagePrefixes = parameters.classNamePatterns != null && !parameters.automaticJaxrsApplication
+                ? getPackagePrefixes(parameters.classNamePatterns)
+                : Collections.<String>emptyList();
+        final ClasspathScanner classpathScanner = new ClasspathScanner(packagePrefixes, parameters.scanDirectoriesOnly, parameters.scanCacheFile, parameters.classLoader, metrics);
+        final List<String> lazyClassNames = new ArrayList<>();
+        final List<SourceType<Type>> types = new ArrayList<>();
+        final List<String> classNames = new ArrayList<>();
+        if (parameters.classNames != null) {
+            classNames.addAll(parameters.classNames);
+        }
+        if (parameters.classNamePatterns != null) {
+            classNames.addAll(fromClassNamePatterns(classpathScanner.scanClasspath(), parameters.classNamePatterns));
+        }
+        if (parameters.discoverClassesFromBytecode) {
+            lazyClassNames.addAll(filterClassFiles(classNames, parameters.isClassNameExcluded, classLoader, metrics));
+        } else {
+            types.addAll(loadClasses(classNames, classLoader, metrics));
+        }
+        if (parameters.jaxrsApplicationClassName != null) {
+            types.addAll(loadClasses(Arrays.asList(parameters.jaxrsApplicationClassName), classLoader, metrics));
         }
+        if (parameters.automaticJaxrsApplication) {
+            final ClasspathScanResult scanResult = classpathScanner.scanClasspath();
+            final GenerationMetrics.Measurement classLoading = metrics.start("classLoading");
+            types.addAll(JaxrsApplicationScanner.scanAutomaticJaxrsApplication(scanResult, parameters.isClassNameExcluded, classLoader));
+            classLoading.stop();
+        }
+        if (lazyClassNames.isEmpty() && types.isEmpty()) {
+            final String errorMessage = "No input classes found.";
+            System.out.println(errorMessage);
+            throw new RuntimeException(errorMessage);
+        }
+        return new Input(lazyClassNames, classLoader, types, metrics);
     }
 
     private static class ClasspathScanner {
 
-        private FastClasspathScanner fastClasspathScanner = null;
-
-        public FastClasspathScanner scanClasspath() {
-            if (fastClasspathScanner == null) {
-                System.out.println("Scanning classpath");
-                final Date scanStart = new Date();
-                final FastClasspathScanner scanner = new FastClasspathScanner().scan();
-                final int count = scanner.getNamesOfAllClasses().size();
-                final Date scanEnd = new Date();
-                final double timeInSeconds = (scanEnd.getTime() - scanStart.getTime()) / 1000.0;
-                System.out.println(String.format("Scanning finished in %.2f seconds. Total number of classes: %d.", timeInSeconds, count));
-                fastClasspathScanner = scanner;
+        private final List<String> packagePrefixes;
+        private final boolean directoriesOnly;
+        private final File scanCacheFile;
+        private final ClassLoader classLoader;
+        private final GenerationMetrics metrics;
+        private ClasspathScanResult scanResult = null;
+
+        public ClasspathScanner(List<String> packagePrefixes, boolean directoriesOnly, File scanCacheFile, ClassLoader classLoader, GenerationMetrics metrics) {
+            this.packagePrefixes = packagePrefixes;
+            this.directoriesOnly = directoriesOnly;
+            this.scanCacheFile = scanCacheFile;
+            this.classLoader = classLoader;
+            this.metrics = metrics;
+        }
+
+        public ClasspathScanResult scanClasspath() {
+            if (scanResult == null) {
+                final GenerationMetrics.Measurement classpathScan = metrics.start("classpathScan");
+                scanResult = ClasspathScanCache.scan(packagePrefixes, directoriesOnly, scanCacheFile, classLoader);
+                classpathScan.stop();
             }
-            return fastClasspathScanner;
+            return scanResult;
         }
 
     }
 
-    private static Input fromClassNamePatterns(FastClasspathScanner scanner, List<String> classNamePatterns) {
+    private static List<String> fromClassNamePatterns(ClasspathScanResult scanResult, List<String> classNamePatterns) {
         final List<String> allClassNames = new ArrayList<>();
-        allClassNames.addAll(scanner.getNamesOfAllStandardClasses());
-        allClassNames.addAll(scanner.getNamesOfAllInterfaceClasses());
+        allClassNames.addAll(scanResult.standardClassNames);
+        allClassNames.addAll(scanResult.interfaceClassNames);
         Collections.sort(allClassNames);
         final List<String> classNames = filterClassNames(allClassNames, classNamePatterns);
         System.out.println(String.format("Found %d classes matching pattern.", classNames.size()));
-        return fromClassNames(classNames);
+        return classNames;
     }
 
-    private static Input fromClassNames(List<String> classNames) {
+    private static List<SourceType<Type>> loadClasses(List<String> classNames, ClassLoader classLoader, GenerationMetrics metrics) {
+        final GenerationMetrics.Measurement classLoading = metrics.start("classLoading");
         try {
             final List<SourceType<Type>> types = new ArrayList<>();
             for (String className : classNames) {
-                final Class<?> cls = Thread.currentThread().getContextClassLoader().loadClass(className);
+                // classes are not initialized (static initializers are not run)
+                final Class<?> cls = Class.forName(className, false, classLoader);
                 // skip synthetic classes (as those generated by java compiler for switch with enum)
                 // and anonymous classes (should not be processed and they do not have SimpleName)
                 if (!cls.isSynthetic() && !cls.isAnonymousClass()) {
                     types.add(new SourceType<Type>(cls, null, null));
                 }
             }
-            return new Input(types);
+            return types;
         } catch (ReflectiveOperationException e) {
             throw new RuntimeException(e);
+        } finally {
+            classLoading.stop();
         }
     }
 
-    static List<String> filterClassNames(List<String> classNames, List<String> globs) {
-        final List<Pattern> regexps = globsToRegexps(globs);
-        final List<String> result = new ArrayList<>();
-        for (String className : classNames) {
-            if (classNameMatches(className, regexps)) {
+    /**
+     * Skips synthetic, anonymous and excluded classes using information from class files without loading classes.
+     */
+    private static List<String> filterClassFiles(List<String> classNames, Predicate<String> isClassNameExcluded, ClassLoader classLoader, GenerationMetrics metrics) {
+        final GenerationMetrics.Measurement classFileReading = metrics.start("classFileReading");
+        try {
+            final List<String> result = new ArrayList<>();
+            for (String className : classNames) {
+                if (isClassNameExcluded != null && isClassNameExcluded.test(className)) {
+                    continue;
+                }
+                final ClassFileInfo classFile = ClassFileInfo.read(classLoader, className);
+                if (classFile != null && (classFile.isSynthetic() || classFile.isAnonymous())) {
+                    continue;
+                }
                 result.add(className);
             }
+            return result;
+        } finally {
+            classFileReading.stop();
         }
-        return result;
     }
 
-    static boolean classNameMatches(String className, List<Pattern> regexps) {
-        for (Pattern regexp : regexps) {
-            if (regexp.matcher(className).matches()) {
-                return true;
-            }
-        }
-        return false;
+    static List<String> filterClassNames(List<String> classNames, List<String> globs) {
+        return ClassNameMatcher.fromGlobs(globs).filter(classNames);
     }
 
-    static List<Pattern> globsToRegexps(List<String> globs) {
-        final List<Pattern> regexps = new ArrayList<>();
+    /**
+     * Returns packages which contain all classes matching specified globs
+     * (for example "com.acme.api" for "com.acme.api.**" or "com.acme.api.*Dto").
+     * Returns empty list when some glob can match class in any package.
+     */
+    static List<String> getPackagePrefixes(List<String> globs) {
+        final Set<String> prefixes = new TreeSet<>();
         for (String glob : globs) {
-            regexps.add(globToRegexp(glob));
+            final int wildcard = glob.indexOf('*');
+            final String literal = wildcard != -1 ? glob.substring(0, wildcard) : glob;
+            final int lastDot = literal.lastIndexOf('.');
+            if (lastDot <= 0) {
+                return Collections.emptyList();
+            }
+            prefixes.add(literal.substring(0, lastDot));
         }
-        return regexps;
+        // remove prefixes covered by other prefixes
+        final List<String> result = new ArrayList<>();
+        for (String prefix : prefixes) {
+            if (result.isEmpty() || !prefix.startsWith(result.get(result.size() - 1) + ".")) {
+                result.add(prefix);
+            }
+        }
+        return result;
     }
 
     /**
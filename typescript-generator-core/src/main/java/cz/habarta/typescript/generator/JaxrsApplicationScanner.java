@@ -31,11 +31,22 @@ public class JaxrsApplicationScanner {
     }
 
     public static List<SourceType<Type>> scanAutomaticJaxrsApplication(FastClasspathScanner scanner, Predicate<String> isClassNameExcluded) {
+        return scanAutomaticJaxrsApplication(scanner.getNamesOfClassesWithAnnotation(Path.class), isClassNameExcluded, Thread.currentThread().getContextClassLoader());
+    }
+
+    public static List<SourceType<Type>> scanAutomaticJaxrsApplication(ClasspathScanResult scanResult, Predicate<String> isClassNameExcluded) {
+        return scanAutomaticJaxrsApplication(scanResult, isClassNameExcluded, Thread.currentThread().getContextClassLoader());
+    }
+
+    public static List<SourceType<Type>> scanAutomaticJaxrsApplication(ClasspathScanResult scanResult, Predicate<String> isClassNameExcluded, ClassLoader classLoader) {
+        return scanAutomaticJaxrsApplication(scanResult.pathAnnotatedClassNames, isClassNameExcluded, classLoader);
+    }
+
+    private static List<SourceType<Type>> scanAutomaticJaxrsApplication(List<String> namesOfResourceClasses, Predicate<String> isClassNameExcluded, ClassLoader classLoader) {
         try {
-            final List<String> namesOfResourceClasses = scanner.getNamesOfClassesWithAnnotation(Path.class);
             final List<Class<?>> resourceClasses = new ArrayList<>();
             for (String className : namesOfResourceClasses) {
-                resourceClasses.add(Thread.currentThread().getContextClassLoader().loadClass(className));
+                resourceClasses.add(classLoader.loadClass(className));
             }
             System.out.println(String.format("Found %d root resources.", resourceClasses.size()));
             return new JaxrsApplicationScanner().scanJaxrsApplication(null, resourceClasses, isClassNameExcluded);
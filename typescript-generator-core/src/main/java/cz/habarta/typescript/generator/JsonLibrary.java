@@ -3,5 +3,5 @@ package cz.habarta.typescript.generator;
 
 
 public enum JsonLibrary {
-    jackson1, jackson2, jaxb
+    jackson1, jackson2, jackson2Fast, jaxb
 }
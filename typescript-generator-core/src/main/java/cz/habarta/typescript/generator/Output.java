@@ -2,22 +2,85 @@
 package cz.habarta.typescript.generator;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.*;
+import java.nio.file.*;
 
 
 public class Output {
 
-    private final Writer writer;
+    /**
+     * Specifies how content is written to output file.
+     */
+    public enum Sink {
+        /**
+         * Content is written continuously using buffered writer.
+         */
+        buffered,
+        /**
+         * Content is collected in memory and written to the file at once when output is closed.
+         */
+        inMemory
+    }
+
+    private Writer writer;
+    private final File file;
+    private final File directory;
+    private final Sink sink;
+    private final boolean skipUnchanged;
     private final String name;
     private final boolean closeWriter;
 
     private Output(Writer writer, String name, boolean closeWriter) {
         this.writer = writer;
+        this.file = null;
+        this.directory = null;
+        this.sink = null;
+        this.skipUnchanged = false;
         this.name = name;
         this.closeWriter = closeWriter;
     }
 
+    private Output(File file, Sink sink, boolean skipUnchanged) {
+        this.writer = null;
+        this.file = file;
+        this.directory = null;
+        this.sink = sink;
+        this.skipUnchanged = skipUnchanged;
+        this.name = file.toString();
+        this.closeWriter = true;
+    }
+
+    private Output(File directory) {
+        this.writer = null;
+        this.file = null;
+        this.directory = directory;
+        this.sink = Sink.inMemory;
+        this.skipUnchanged = true;
+        this.name = directory.toString();
+        this.closeWriter = true;
+    }
+
+    /**
+     * Returns writer for this output. When output is a file it is opened (and truncated) by the first call of this method.
+     */
     public Writer getWriter() {
+        if (directory != null) {
+            throw new RuntimeException("Output to directory '" + directory + "' consists of multiple files, use getModuleOutput method");
+        }
+        if (writer == null) {
+            if (sink == Sink.inMemory) {
+                writer = new InMemoryFileWriter(file, skipUnchanged);
+            } else {
+                try {
+                    file.getParentFile().mkdirs();
+                    writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8")));
+                } catch (FileNotFoundException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
         return writer;
     }
 
@@ -29,21 +92,132 @@ public class Output {
         return closeWriter;
     }
 
-    public static Output to(File file) {
-        try {
-            file.getParentFile().mkdirs();
-            return new Output(new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8")), file.toString(), true);
-        } catch (FileNotFoundException e) {
-            throw new RuntimeException(e);
+    public boolean shouldSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+    /**
+     * Returns sink used for writing output file or <code>null</code> if output is not a file.
+     */
+    public Sink getSink() {
+        return sink;
+    }
+
+    /**
+     * Returns directory where modules are written or <code>null</code> if output is single file or writer.
+     */
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns output for one file in the output directory. Files are written only if their content changed.
+     */
+    public Output getModuleOutput(String fileName) {
+        if (directory == null) {
+            throw new RuntimeException("Output is not a directory");
         }
+        return new Output(new File(directory, fileName), Sink.inMemory, true);
+    }
+
+    public static Output to(File file) {
+        return to(file, Sink.buffered);
+    }
+
+    public static Output to(File file, Sink sink) {
+        return new Output(file, sink, false);
+    }
+
+    /**
+     * @param skipUnchanged if <code>true</code> content is rendered into memory and the file is written
+     * only if the content differs from existing file (generated timestamp comment is ignored when comparing)
+     * so file modification time doesn't change when nothing changed
+     */
+    public static Output to(File file, boolean skipUnchanged) {
+        return new Output(file, skipUnchanged ? Sink.inMemory : Sink.buffered, skipUnchanged);
+    }
+
+    /**
+     * Output which writes one TypeScript module for each Java package (or group configured
+     * using {@link Settings#outputModuleMappings}) and index file which re-exports all modules.
+     * Only files whose content changed are written.
+     */
+    public static Output toDirectory(File directory) {
+        return new Output(directory);
     }
 
     public static Output to(OutputStream outputStream) {
-        return new Output(new OutputStreamWriter(outputStream, Charset.forName("UTF-8")), null, false);
+        return new Output(new BufferedWriter(new OutputStreamWriter(outputStream, Charset.forName("UTF-8"))), null, false);
     }
 
     public static Output to(Writer writer) {
         return new Output(writer, null, false);
     }
 
+    private static class InMemoryFileWriter extends Writer {
+
+        private static final String GeneratedComment = "// Generated using typescript-generator";
+
+        private final File file;
+        private final boolean skipUnchanged;
+        private final StringBuilder content = new StringBuilder();
+        private boolean closed = false;
+
+        public InMemoryFileWriter(File file, boolean skipUnchanged) {
+            this.file = file;
+            this.skipUnchanged = skipUnchanged;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            content.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            content.append(str, off, off + len);
+        }
+
+        @Override
+        public void write(int c) {
+            content.append((char) c);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            final String newContent = content.toString();
+            if (skipUnchanged && file.exists()) {
+                final String existingContent = new String(Files.readAllBytes(file.toPath()), Charset.forName("UTF-8"));
+                if (withoutGeneratedComment(existingContent).equals(withoutGeneratedComment(newContent))) {
+                    System.out.println("Content of '" + file + "' is unchanged, file not written");
+                    return;
+                }
+            }
+            file.getParentFile().mkdirs();
+            final ByteBuffer buffer = Charset.forName("UTF-8").encode(newContent);
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+
+        private static String withoutGeneratedComment(String content) {
+            if (content.trim().startsWith(GeneratedComment)) {
+                final int newline = content.indexOf('\n');
+                return newline != -1 ? content.substring(newline + 1) : "";
+            }
+            return content;
+        }
+
+    }
+
 }
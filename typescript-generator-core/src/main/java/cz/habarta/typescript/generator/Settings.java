@@ -3,15 +3,15 @@ package cz.habarta.typescript.generator;
 
 import java.io.File;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 import cz.habarta.typescript.generator.emitter.Emitter;
 import cz.habarta.typescript.generator.emitter.EmitterExtension;
@@ -35,6 +35,8 @@ public class Settings {
     public String umdNamespace = null;
     public JsonLibrary jsonLibrary = null;
     private Predicate<String> excludeFilter = null;
+    private List<String> excludedClasses = null;
+    private List<String> excludedClassPatterns = null;
     public boolean declarePropertiesAsOptional = false;
     public boolean declarePropertiesAsReadOnly = false;
     public String removeTypeNamePrefix = null;
@@ -46,6 +48,7 @@ public class Settings {
     public List<String> referencedFiles = new ArrayList<>();
     public List<String> importDeclarations = new ArrayList<>();
     public Map<String, String> customTypeMappings = new LinkedHashMap<>();
+    public Map<String, String> outputModuleMappings = new LinkedHashMap<>();
     public DateMapping mapDate; // default is DateMapping.asDate
     public EnumMapping mapEnum; // default is EnumMapping.asUnion
     public ClassMapping mapClasses; // default is ClassMapping.asInterfaces
@@ -69,10 +72,39 @@ public class Settings {
     public boolean disableJackson2ModuleDiscovery = false;
     public ClassLoader classLoader = null;
     public Map<Class<?>, Set<Class<?>>> mixins = new HashMap<>();
+    public boolean parallelParsing = false;
+    public boolean parallelEmitting = false;
+    public boolean disableTypeProcessorCache = false;
+    public File incrementalCacheFile = null;
+    public boolean generateMetricsJson = false;
+    public boolean removeUnreachableTypes = false;
+    public List<String> reachabilityRootClasses = new ArrayList<>();
+    public List<Class<? extends Annotation>> reachabilityRootAnnotations = new ArrayList<>();
  
     private boolean defaultStringEnumsOverriddenByExtension = false;
 
 
+    /**
+     * Returns shallow copy of these settings (collections and loaded objects are shared with this instance).
+     * Useful for generating several outputs which differ only in some settings, see {@link GenerationTarget}.
+     */
+    public Settings copy() {
+        // default exclude filter is created lazily, create it now so it is shared too
+        getExcludeFilter();
+        final Settings copy = new Settings();
+        try {
+            for (Field field : Settings.class.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    field.set(copy, field.get(this));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeException(e);
+        }
+        return copy;
+    }
+
     public void setStringQuotes(StringQuotes quotes) {
         this.quotes = quotes == StringQuotes.singleQuotes ? "'" : "\"";
     }
@@ -101,6 +133,12 @@ public class Settings {
         }
     }
 
+    public void loadReachabilityRootAnnotations(ClassLoader classLoader, List<String> reachabilityRootAnnotations) {
+        if (reachabilityRootAnnotations != null) {
+            this.reachabilityRootAnnotations = loadClasses(classLoader, reachabilityRootAnnotations, Annotation.class);
+        }
+    }
+
     public static Map<String, String> convertToMap(List<String> mappings) {
         final Map<String, String> result = new LinkedHashMap<>();
         if (mappings != null) {
@@ -178,6 +216,13 @@ public class Settings {
         if (restOptionsType != null && !generateJaxrs) {
             throw new RuntimeException("'restOptionsType' parameter can only be used when generating JAX-RS client or interface.");
         }
+        if (removeUnreachableTypes && reachabilityRootClasses.isEmpty() && reachabilityRootAnnotations.isEmpty() && !generateJaxrs) {
+            throw new RuntimeException("'removeUnreachableTypes' parameter requires at least one root, "
+                    + "configure 'reachabilityRootClasses' or 'reachabilityRootAnnotations' parameter or generate JAX-RS client or interface.");
+        }
+        if (!removeUnreachableTypes && (!reachabilityRootClasses.isEmpty() || !reachabilityRootAnnotations.isEmpty())) {
+            throw new RuntimeException("'reachabilityRootClasses' and 'reachabilityRootAnnotations' parameters can only be used together with 'removeUnreachableTypes' parameter.");
+        }
         if (generateNpmPackageJson && outputKind != TypeScriptOutputKind.module) {
             throw new RuntimeException("'generateNpmPackageJson' can only be used when generating proper module ('outputKind' parameter is 'module').");
         }
@@ -201,6 +246,21 @@ public class Settings {
         return outputFileType == TypeScriptFileType.implementationFile ? ".ts" : ".d.ts";
     }
 
+    public void validateOutputDirectory(File outputDirectory) {
+        if (outputKind != TypeScriptOutputKind.module) {
+            throw new RuntimeException("Output to directory '" + outputDirectory + "' requires 'outputKind' parameter to be 'module'. " + seeLink());
+        }
+        if (namespace != null) {
+            throw new RuntimeException("'namespace' parameter is not supported when output is written to directory. " + seeLink());
+        }
+        if (umdNamespace != null) {
+            throw new RuntimeException("'umdNamespace' parameter is not supported when output is written to directory. " + seeLink());
+        }
+        if (!extensions.isEmpty()) {
+            throw new RuntimeException("Extensions are not supported when output is written to directory. " + seeLink());
+        }
+    }
+
     public void validateFileName(File outputFile) {
         if (outputFileType == TypeScriptFileType.declarationFile && !outputFile.getName().endsWith(".d.ts")) {
             throw new RuntimeException("Declaration file must have 'd.ts' extension: " + outputFile);
@@ -223,17 +283,28 @@ public class Settings {
 
     public void setExcludeFilter(List<String> excludedClasses, List<String> excludedClassPatterns) {
         this.excludeFilter = createExcludeFilter(excludedClasses, excludedClassPatterns);
+        this.excludedClasses = excludedClasses != null ? excludedClasses : Collections.<String>emptyList();
+        this.excludedClassPatterns = excludedClassPatterns != null ? excludedClassPatterns : Collections.<String>emptyList();
+    }
+
+    /**
+     * Returns class names used to create exclude filter.
+     */
+    public List<String> getExcludedClasses() {
+        getExcludeFilter();
+        return excludedClasses;
+    }
+
+    /**
+     * Returns class name patterns used to create exclude filter.
+     */
+    public List<String> getExcludedClassPatterns() {
+        getExcludeFilter();
+        return excludedClassPatterns;
     }
 
     public static Predicate<String> createExcludeFilter(List<String> excludedClasses, List<String> excludedClassPatterns) {
-        final Set<String> names = new LinkedHashSet<>(excludedClasses != null ? excludedClasses : Collections.<String>emptyList());
-        final List<Pattern> patterns = Input.globsToRegexps(excludedClassPatterns != null ? excludedClassPatterns : Collections.<String>emptyList());
-        return new Predicate<String>() {
-            @Override
-            public boolean test(String className) {
-                return names.contains(className) || Input.classNameMatches(className, patterns);
-            }
-        };
+        return new ClassNameMatcher(excludedClasses, excludedClassPatterns);
     }
 
     public boolean areDefaultStringEnumsOverriddenByExtension() {
@@ -21,6 +21,9 @@ public abstract class TsType {
 
     @Override
     public boolean equals(Object rhs) {
+        if (this == rhs) {
+            return true;
+        }
         return rhs != null && this.getClass() == rhs.getClass() && this.toString().equals(rhs.toString());
     }
 
@@ -237,35 +240,71 @@ public abstract class TsType {
 
     }
 
+    /**
+     * Applies transformer to the type and (recursively) to types nested in the result.
+     * Returns the same instance when neither the type nor any nested type was changed.
+     */
     public static TsType transformTsType(TsType tsType, Transformer transformer) {
         final TsType type = transformer.transform(tsType);
         if (type instanceof TsType.OptionalType) {
             final TsType.OptionalType optionalType = (TsType.OptionalType) type;
-            return new TsType.OptionalType(transformTsType(optionalType.type, transformer));
+            final TsType newType = transformTsType(optionalType.type, transformer);
+            return newType == optionalType.type ? type : new TsType.OptionalType(newType);
         }
         if (type instanceof TsType.BasicArrayType) {
             final TsType.BasicArrayType basicArrayType = (TsType.BasicArrayType) type;
-            return new TsType.BasicArrayType(transformTsType(basicArrayType.elementType, transformer));
+            final TsType newElementType = transformTsType(basicArrayType.elementType, transformer);
+            return newElementType == basicArrayType.elementType ? type : new TsType.BasicArrayType(newElementType);
         }
         if (type instanceof TsType.IndexedArrayType) {
             final TsType.IndexedArrayType indexedArrayType = (TsType.IndexedArrayType) type;
-            return new TsType.IndexedArrayType(
-                    transformTsType(indexedArrayType.indexType, transformer),
-                    transformTsType(indexedArrayType.elementType, transformer));
+            final TsType newIndexType = transformTsType(indexedArrayType.indexType, transformer);
+            final TsType newElementType = transformTsType(indexedArrayType.elementType, transformer);
+            return newIndexType == indexedArrayType.indexType && newElementType == indexedArrayType.elementType
+                    ? type
+                    : new TsType.IndexedArrayType(newIndexType, newElementType);
         }
         if (type instanceof TsType.ObjectType) {
             final TsType.ObjectType objectType = (TsType.ObjectType) type;
+            boolean changed = false;
             final List<TsProperty> properties = new ArrayList<>();
             for (TsProperty property : objectType.properties) {
-                properties.add(new TsProperty(property.name, transformTsType(property.tsType, transformer)));
+                final TsType newPropertyType = transformTsType(property.tsType, transformer);
+                changed = changed || newPropertyType != property.tsType;
+                properties.add(newPropertyType == property.tsType ? property : new TsProperty(property.name, newPropertyType));
             }
-            return new TsType.ObjectType(properties);
+            return changed ? new TsType.ObjectType(properties) : type;
         }
         return type;
     }
 
     public static interface Transformer {
+
         public TsType transform(TsType tsType);
+
+        /**
+         * Applies all transformers to each visited type (in the specified order)
+         * so several transformations can be done in one pass over type trees.
+         */
+        public static class Chain implements Transformer {
+
+            private final List<Transformer> transformers;
+
+            public Chain(List<Transformer> transformers) {
+                this.transformers = transformers;
+            }
+
+            @Override
+            public TsType transform(TsType tsType) {
+                TsType type = tsType;
+                for (Transformer transformer : transformers) {
+                    type = transformer.transform(type);
+                }
+                return type;
+            }
+
+        }
+
     }
 
 }
@@ -3,6 +3,7 @@ package cz.habarta.typescript.generator;
 
 import cz.habarta.typescript.generator.compiler.SymbolTable;
 import cz.habarta.typescript.generator.compiler.Symbol;
+import cz.habarta.typescript.generator.util.Utils;
 import java.lang.reflect.Type;
 import java.util.*;
 
@@ -15,6 +16,21 @@ public interface TypeProcessor {
     public Result processType(Type javaType, Context context);
 
 
+    /**
+     * Type processor which only processes types with specific raw classes.
+     * {@link IndexedChain} doesn't call {@link #processType} for other types
+     * (including types without raw class like type variables).
+     */
+    public interface RawClassRestricted extends TypeProcessor {
+
+        /**
+         * @return <code>true</code> if this processor can process types with specified raw class,
+         * result must not change for the same class
+         */
+        public boolean isApplicableTo(Class<?> rawClass);
+
+    }
+
     public static class Context {
 
         private final SymbolTable symbolTable;
@@ -29,8 +45,25 @@ public interface TypeProcessor {
             return symbolTable.getSymbol(cls);
         }
 
+        /**
+         * Processes java type using type processor of this context.
+         * Results are cached in symbol table (unless disabled by {@link Settings#disableTypeProcessorCache})
+         * so each type is processed only once.
+         */
         public Result processType(Type javaType) {
-            return typeProcessor.processType(javaType, this);
+            final Map<Type, Result> cache = symbolTable.getTypeProcessorResults(typeProcessor);
+            if (cache == null) {
+                return typeProcessor.processType(javaType, this);
+            }
+            final Result cachedResult = cache.get(javaType);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+            final Result result = typeProcessor.processType(javaType, this);
+            if (result != null) {
+                cache.put(javaType, result);
+            }
+            return result;
         }
 
     }
@@ -85,4 +118,56 @@ public interface TypeProcessor {
 
     }
 
+    /**
+     * Chain which calls only processors applicable to raw class of processed type.
+     * Applicable processors are determined once per raw class using {@link RawClassRestricted} interface,
+     * processors which don't implement this interface are applicable to all types.
+     * Processors are called in the same order as in {@link Chain}.
+     */
+    public static class IndexedChain implements TypeProcessor {
+
+        private final List<TypeProcessor> processors;
+        private final List<TypeProcessor> unrestrictedProcessors;
+        private final ClassValue<List<TypeProcessor>> processorsByRawClass = new ClassValue<List<TypeProcessor>>() {
+            @Override
+            protected List<TypeProcessor> computeValue(Class<?> rawClass) {
+                final List<TypeProcessor> applicableProcessors = new ArrayList<>();
+                for (TypeProcessor processor : processors) {
+                    if (!(processor instanceof RawClassRestricted) || ((RawClassRestricted) processor).isApplicableTo(rawClass)) {
+                        applicableProcessors.add(processor);
+                    }
+                }
+                return applicableProcessors;
+            }
+        };
+
+        public IndexedChain(List<TypeProcessor> processors) {
+            this.processors = new ArrayList<>(processors);
+            this.unrestrictedProcessors = new ArrayList<>();
+            for (TypeProcessor processor : processors) {
+                if (!(processor instanceof RawClassRestricted)) {
+                    unrestrictedProcessors.add(processor);
+                }
+            }
+        }
+
+        public IndexedChain(TypeProcessor... processors) {
+            this(Arrays.asList(processors));
+        }
+
+        @Override
+        public Result processType(Type javaType, Context context) {
+            final Class<?> rawClass = Utils.getRawClassOrNull(javaType);
+            final List<TypeProcessor> applicableProcessors = rawClass != null ? processorsByRawClass.get(rawClass) : unrestrictedProcessors;
+            for (TypeProcessor processor : applicableProcessors) {
+                final Result result = processor.processType(javaType, context);
+                if (result != null) {
+                    return result;
+                }
+            }
+            return null;
+        }
+
+    }
+
 }
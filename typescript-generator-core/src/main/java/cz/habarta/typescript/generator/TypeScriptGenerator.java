@@ -1,14 +1,25 @@
 
 package cz.habarta.typescript.generator;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import cz.habarta.typescript.generator.compiler.*;
 import cz.habarta.typescript.generator.emitter.*;
 import cz.habarta.typescript.generator.parser.*;
+import cz.habarta.typescript.generator.util.StandardJsonPrettyPrinter;
 import cz.habarta.typescript.generator.util.Utils;
 import java.io.*;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.*;
 
 
+/**
+ * Generates TypeScript declarations from Java classes.
+ * Generator is thread-safe, one instance can be used for concurrent generations (with the same settings).
+ * Components (parser, compiler and emitter) are created lazily on first use and then shared,
+ * state of each generation is held in objects created for that generation.
+ */
 public class TypeScriptGenerator {
 
     public static final String Version = getVersion();
@@ -40,18 +51,215 @@ public class TypeScriptGenerator {
     }
 
     public void generateTypeScript(Input input, Output output) {
-        generateTypeScript(input, output, false, 0);
+        generateTypeScript(input, output, new GenerationMetrics());
+    }
+
+    /**
+     * Generates TypeScript and records metrics of individual stages (including creation of the input) into specified metrics object.
+     */
+    public void generateTypeScript(Input input, Output output, GenerationMetrics metrics) {
+        generateTypeScript(input, output, false, 0, metrics);
     }
 
     public void generateEmbeddableTypeScript(Input input, Output output, boolean addExportKeyword, int initialIndentationLevel) {
-        generateTypeScript(input, output, addExportKeyword, initialIndentationLevel);
+        generateTypeScript(input, output, addExportKeyword, initialIndentationLevel, new GenerationMetrics());
     }
 
-    private void generateTypeScript(Input input, Output output, boolean forceExportKeyword, int initialIndentationLevel) {
-        final Model model = getModelParser().parseModel(input.getSourceTypes());
-        final TsModel tsModel = getModelCompiler().javaToTypeScript(model);
-        getEmitter().emit(tsModel, output.getWriter(), output.getName(), output.shouldCloseWriter(), forceExportKeyword, initialIndentationLevel);
+    private void generateTypeScript(Input input, Output output, boolean forceExportKeyword, int initialIndentationLevel, GenerationMetrics metrics) {
+        if (output.getDirectory() != null) {
+            settings.validateOutputDirectory(output.getDirectory());
+        }
+        final IncrementalCache incrementalCache = createIncrementalCache(output);
+        if (incrementalCache != null && incrementalCache.isUpToDate(input.getSourceTypeNames())) {
+            metrics.addAll(input.getMetrics());
+            System.out.println("Output '" + output.getName() + "' is up to date, skipping generation");
+            return;
+        }
+        // input can load classes lazily so its metrics are collected after getting source types
+        final List<SourceType<Type>> sourceTypes = input.getSourceTypes();
+        metrics.addAll(input.getMetrics());
+        final Model model = getModelParser().parseModel(sourceTypes, metrics);
+        generateTypeScript(input, model, output, forceExportKeyword, initialIndentationLevel, incrementalCache, metrics);
+    }
+
+    private IncrementalCache createIncrementalCache(Output output) {
+        return settings.incrementalCacheFile != null
+                ? new IncrementalCache(settings, settings.incrementalCacheFile, output.getName())
+                : null;
+    }
+
+    /**
+     * Compiles and emits already parsed model.
+     */
+    private void generateTypeScript(Input input, Model model, Output output, boolean forceExportKeyword, int initialIndentationLevel, IncrementalCache incrementalCache, GenerationMetrics metrics) {
+        final TsModel tsModel = getModelCompiler().javaToTypeScript(model, metrics);
+        final GenerationMetrics.Measurement emitting = metrics.start("emitting");
+        if (output.getDirectory() != null) {
+            emitModules(tsModel, output);
+        } else {
+            getEmitter().emit(tsModel, output.getWriter(), output.getName(), output.shouldCloseWriter(), forceExportKeyword, initialIndentationLevel);
+        }
+        emitting.stop();
+        final GenerationMetrics.Measurement npmPackageJson = metrics.start("npmPackageJson");
         generateNpmPackageJson(output);
+        npmPackageJson.stop();
+        if (incrementalCache != null) {
+            incrementalCache.store(input.getSourceTypeNames(), model);
+        }
+        generateMetricsJson(output, metrics);
+    }
+
+    /**
+     * Generates several outputs from one input.
+     * Input classes are parsed once for each group of targets with the same settings which affect parsing
+     * (JSON library, type processing and exclusions, annotations, mixins, Javadoc and class loader),
+     * parsed model is then compiled and emitted for each target of the group.
+     * Targets are compiled and emitted in parallel.
+     * Settings for individual targets can be created using {@link Settings#copy()}.
+     */
+    public static void generateTypeScript(Input input, List<GenerationTarget> targets) {
+        // parsing key -> targets
+        final Map<List<Object>, List<TargetGeneration>> groups = new LinkedHashMap<>();
+        for (GenerationTarget target : targets) {
+            final TypeScriptGenerator generator = new TypeScriptGenerator(target.getSettings());
+            final Output output = target.getOutput();
+            if (output.getDirectory() != null) {
+                generator.settings.validateOutputDirectory(output.getDirectory());
+            }
+            final IncrementalCache incrementalCache = generator.createIncrementalCache(output);
+            if (incrementalCache != null && incrementalCache.isUpToDate(input.getSourceTypeNames())) {
+                System.out.println("Output '" + output.getName() + "' is up to date, skipping generation");
+                continue;
+            }
+            final List<Object> parsingKey = getParsingKey(generator.settings);
+            if (!groups.containsKey(parsingKey)) {
+                groups.put(parsingKey, new ArrayList<TargetGeneration>());
+            }
+            groups.get(parsingKey).add(new TargetGeneration(generator, input, output, incrementalCache));
+        }
+        if (groups.isEmpty()) {
+            return;
+        }
+        final List<SourceType<Type>> sourceTypes = input.getSourceTypes();
+        final List<TargetGeneration> generations = new ArrayList<>();
+        for (List<TargetGeneration> group : groups.values()) {
+            final GenerationMetrics parsingMetrics = new GenerationMetrics();
+            parsingMetrics.addAll(input.getMetrics());
+            final Model model = group.get(0).generator.getModelParser().parseModel(sourceTypes, parsingMetrics);
+            for (TargetGeneration generation : group) {
+                generation.model = model;
+                generation.metrics.addAll(parsingMetrics);
+            }
+            generations.addAll(group);
+        }
+        if (generations.size() > 1) {
+            invokeAll(generations);
+        } else {
+            generations.get(0).call();
+        }
+    }
+
+    /**
+     * Returns values of settings used by model parser (and type processor used while parsing).
+     * Objects are compared using equals, loaded objects (like custom type processor) by their identity.
+     */
+    private static List<Object> getParsingKey(Settings settings) {
+        return Arrays.<Object>asList(
+                settings.jsonLibrary,
+                settings.getExcludedClasses(),
+                settings.getExcludedClassPatterns(),
+                settings.customTypeProcessor,
+                settings.customTypeMappings,
+                settings.includePropertyAnnotations,
+                settings.optionalAnnotations,
+                settings.mixins,
+                settings.javadocXmlFiles,
+                settings.disableJackson2ModuleDiscovery,
+                settings.disableTypeProcessorCache,
+                settings.classLoader);
+    }
+
+    private static void invokeAll(List<TargetGeneration> generations) {
+        final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            for (Future<Void> future : pool.invokeAll(generations)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static class TargetGeneration implements Callable<Void> {
+
+        private final TypeScriptGenerator generator;
+        private final Input input;
+        private final Output output;
+        private final IncrementalCache incrementalCache;
+        private final GenerationMetrics metrics = new GenerationMetrics();
+        private Model model;
+
+        public TargetGeneration(TypeScriptGenerator generator, Input input, Output output, IncrementalCache incrementalCache) {
+            this.generator = generator;
+            this.input = input;
+            this.output = output;
+            this.incrementalCache = incrementalCache;
+        }
+
+        @Override
+        public Void call() {
+            generator.generateTypeScript(input, model, output, false, 0, incrementalCache, metrics);
+            return null;
+        }
+
+    }
+
+    /**
+     * Writes each module to separate file in output directory and index file which re-exports all modules.
+     */
+    private void emitModules(TsModel tsModel, Output output) {
+        final List<String> moduleNames = new ArrayList<>();
+        for (ModuleSplitter.Module module : new ModuleSplitter(settings).split(tsModel)) {
+            final Output moduleOutput = output.getModuleOutput(module.getName() + settings.getExtension());
+            getEmitter().emit(module.getModel(), moduleOutput.getWriter(), moduleOutput.getName(), true, false, 0, module.getImportDeclarations());
+            moduleNames.add(module.getName());
+        }
+        final Output indexOutput = output.getModuleOutput(getModuleIndexFileName());
+        getEmitter().emitModuleIndex(moduleNames, indexOutput.getWriter(), indexOutput.getName(), true);
+    }
+
+    private String getModuleIndexFileName() {
+        return "index" + settings.getExtension();
+    }
+
+    private void generateMetricsJson(Output output, GenerationMetrics metrics) {
+        if (settings.generateMetricsJson) {
+            if (output.getName() == null) {
+                throw new RuntimeException("Generating metrics JSON can only be used when output is specified using file name");
+            }
+            final File metricsFile = new File(output.getName() + ".metrics.json");
+            System.out.println("Writing metrics to: " + metricsFile);
+            try {
+                final ObjectMapper objectMapper = new ObjectMapper();
+                objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+                objectMapper.setDefaultPrettyPrinter(new StandardJsonPrettyPrinter("  ", "\n"));
+                objectMapper.writeValue(metricsFile, metrics);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
     }
 
     private void generateNpmPackageJson(Output output) {
@@ -59,8 +267,10 @@ public class TypeScriptGenerator {
             if (output.getName() == null) {
                 throw new RuntimeException("Generating NPM package.json can only be used when output is specified using file name");
             }
-            final File outputFile = new File(output.getName());
-            final Output npmOutput = Output.to(new File(outputFile.getParent(), "package.json"));
+            final File outputFile = output.getDirectory() != null
+                    ? new File(output.getDirectory(), getModuleIndexFileName())
+                    : new File(output.getName());
+            final Output npmOutput = Output.to(new File(outputFile.getParent(), "package.json"), output.shouldSkipUnchanged());
             final NpmPackageJson npmPackageJson = new NpmPackageJson();
             npmPackageJson.name = settings.npmName;
             npmPackageJson.version = settings.npmVersion;
@@ -72,7 +282,7 @@ public class TypeScriptGenerator {
         }
     }
 
-    public TypeProcessor getTypeProcessor() {
+    public synchronized TypeProcessor getTypeProcessor() {
         if (typeProcessor == null) {
             final List<TypeProcessor> processors = new ArrayList<>();
             processors.add(new ExcludingTypeProcessor(settings.getExcludeFilter()));
@@ -81,12 +291,12 @@ public class TypeScriptGenerator {
             }
             processors.add(new CustomMappingTypeProcessor(settings.customTypeMappings));
             processors.add(new DefaultTypeProcessor());
-            typeProcessor = new TypeProcessor.Chain(processors);
+            typeProcessor = new TypeProcessor.IndexedChain(processors);
         }
         return typeProcessor;
     }
 
-    public ModelParser getModelParser() {
+    public synchronized ModelParser getModelParser() {
         if (modelParser == null) {
             modelParser = createModelParser();
         }
@@ -99,6 +309,8 @@ public class TypeScriptGenerator {
                 return new Jackson1Parser(settings, getTypeProcessor());
             case jackson2:
                 return new Jackson2Parser(settings, getTypeProcessor());
+            case jackson2Fast:
+                return new FastJackson2Parser(settings, getTypeProcessor());
             case jaxb:
                 return new Jackson2Parser(settings, getTypeProcessor(), /*useJaxbAnnotations*/ true);
             default:
@@ -106,21 +318,21 @@ public class TypeScriptGenerator {
         }
     }
 
-    public ModelCompiler getModelCompiler() {
+    public synchronized ModelCompiler getModelCompiler() {
         if (modelCompiler == null) {
             modelCompiler = new ModelCompiler(settings, getTypeProcessor());
         }
         return modelCompiler;
     }
 
-    public Emitter getEmitter() {
+    public synchronized Emitter getEmitter() {
         if (emitter == null) {
             emitter = new Emitter(settings);
         }
         return emitter;
     }
 
-    public NpmPackageJsonEmitter getNpmPackageJsonEmitter() {
+    public synchronized NpmPackageJsonEmitter getNpmPackageJsonEmitter() {
         if (npmPackageJsonEmitter == null) {
             npmPackageJsonEmitter = new NpmPackageJsonEmitter();
         }
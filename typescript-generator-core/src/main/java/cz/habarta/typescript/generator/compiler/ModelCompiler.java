@@ -5,6 +5,7 @@ import cz.habarta.typescript.generator.*;
 import cz.habarta.typescript.generator.emitter.*;
 import cz.habarta.typescript.generator.parser.*;
 import cz.habarta.typescript.generator.util.Utils;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
 import java.util.*;
 import javax.ws.rs.core.Application;
@@ -23,7 +24,9 @@ import javax.ws.rs.core.Application;
  *   <ul>
  *     <li>Dates to strings or numbers.</li>
  *     <li>Enums to string literal union types.</li>
+ *     <li>References to tagged union types.</li>
  *   </ul>
+ *   All type transformations are applied in one pass over bean types.
  * </li>
  * <li>
  *   Resolves Symbols type names. This maps Java class names to TypeScript identifiers using any relevant options from Settings.
@@ -41,13 +44,24 @@ public class ModelCompiler {
     }
 
     public TsModel javaToTypeScript(Model model) {
+        return javaToTypeScript(model, new GenerationMetrics());
+    }
+
+    public TsModel javaToTypeScript(Model model, GenerationMetrics metrics) {
         final SymbolTable symbolTable = new SymbolTable(settings);
+        GenerationMetrics.Measurement measurement = metrics.start("compiler.processModel");
         TsModel tsModel = processModel(symbolTable, model);
+        measurement.stop();
+        measurement = metrics.start("compiler.removeInheritedProperties");
         tsModel = removeInheritedProperties(symbolTable, tsModel);
+        measurement.stop();
+        measurement = metrics.start("compiler.addImplementedProperties");
         tsModel = addImplementedProperties(symbolTable, tsModel);
+        measurement.stop();
 
         // JAX-RS
         if (settings.generateJaxrsApplicationInterface || settings.generateJaxrsApplicationClient) {
+            measurement = metrics.start("compiler.jaxrs");
             final JaxrsApplicationModel jaxrsApplication = model.getJaxrsApplication() != null ? model.getJaxrsApplication() : new JaxrsApplicationModel();
             final Symbol responseSymbol = createJaxrsResponseType(symbolTable, tsModel);
             final TsType optionsType = settings.restOptionsType != null
@@ -60,26 +74,25 @@ public class ModelCompiler {
             if (settings.generateJaxrsApplicationClient) {
                 tsModel = createJaxrsClient(symbolTable, tsModel, jaxrsApplication, responseSymbol, optionsType);
             }
+            measurement.stop();
         }
 
-        // dates
-        tsModel = transformDates(symbolTable, tsModel);
-
-        // enums
-        if (!settings.areDefaultStringEnumsOverriddenByExtension()) {
-            if (settings.mapEnum == null || settings.mapEnum == EnumMapping.asUnion || settings.mapEnum == EnumMapping.asInlineUnion) {
-                tsModel = transformEnumsToUnions(tsModel);
-            }
-            if (settings.mapEnum == EnumMapping.asInlineUnion) {
-                tsModel = inlineEnums(tsModel, symbolTable);
-            }
-        }
-
-        // tagged unions
-        tsModel = createAndUseTaggedUnions(symbolTable, tsModel);
+        // dates, enums and tagged unions
+        measurement = metrics.start("compiler.transformTypes");
+        tsModel = transformTypes(symbolTable, tsModel);
+        measurement.stop();
 
+        measurement = metrics.start("compiler.resolveSymbolNames");
         symbolTable.resolveSymbolNames();
+        measurement.stop();
+        if (settings.removeUnreachableTypes) {
+            measurement = metrics.start("compiler.removeUnreachableTypes");
+            tsModel = removeUnreachableTypes(symbolTable, tsModel);
+            measurement.stop();
+        }
+        measurement = metrics.start("compiler.sortDeclarations");
         tsModel = sortDeclarations(symbolTable, tsModel);
+        measurement.stop();
         return tsModel;
     }
 
@@ -219,7 +232,7 @@ public class ModelCompiler {
         final TypeProcessor.Context context = new TypeProcessor.Context(symbolTable, typeProcessor);
         final TypeProcessor.Result result = context.processType(javaType);
         if (result != null) {
-            return result.getTsType();
+            return symbolTable.getTypeInterner().intern(result.getTsType());
         } else {
             if (usedInClass != null && usedInProperty != null) {
                 System.out.println(String.format("Warning: Unsupported type '%s' used in '%s.%s'", javaType, usedInClass.getSimpleName(), usedInProperty));
@@ -231,9 +244,10 @@ public class ModelCompiler {
     }
 
     private TsModel removeInheritedProperties(SymbolTable symbolTable, TsModel tsModel) {
+        final InheritedPropertiesCache cache = new InheritedPropertiesCache(symbolTable, tsModel);
         final List<TsBeanModel> beans = new ArrayList<>();
         for (TsBeanModel bean : tsModel.getBeans()) {
-            final Map<String, TsType> inheritedPropertyTypes = getInheritedProperties(symbolTable, tsModel, bean.getParentAndInterfaces());
+            final Map<String, TsType> inheritedPropertyTypes = cache.getInheritedProperties(bean.getParentAndInterfaces());
             final List<TsPropertyModel> properties = new ArrayList<>();
             for (TsPropertyModel property : bean.getProperties()) {
                 if (!Objects.equals(property.getTsType(), inheritedPropertyTypes.get(property.getName()))) {
@@ -246,6 +260,7 @@ public class ModelCompiler {
     }
 
     private TsModel addImplementedProperties(SymbolTable symbolTable, TsModel tsModel) {
+        final InheritedPropertiesCache cache = new InheritedPropertiesCache(symbolTable, tsModel);
         final List<TsBeanModel> beans = new ArrayList<>();
         for (TsBeanModel bean : tsModel.getBeans()) {
             if (bean.isClass()) {
@@ -255,9 +270,9 @@ public class ModelCompiler {
                 for (TsPropertyModel property : bean.getProperties()) {
                     classPropertyNames.add(property.getName());
                 }
-                classPropertyNames.addAll(getInheritedProperties(symbolTable, tsModel, Utils.listFromNullable(bean.getParent())).keySet());
+                classPropertyNames.addAll(cache.getInheritedProperties(Utils.listFromNullable(bean.getParent())).keySet());
                 
-                final List<TsPropertyModel> implementedProperties = getImplementedProperties(symbolTable, tsModel, bean.getInterfaces());
+                final List<TsPropertyModel> implementedProperties = cache.getImplementedProperties(bean.getInterfaces());
                 Collections.reverse(implementedProperties);
                 for (TsPropertyModel implementedProperty : implementedProperties) {
                     if (!classPropertyNames.contains(implementedProperty.getName())) {
@@ -274,30 +289,66 @@ public class ModelCompiler {
         return tsModel.setBeans(beans);
     }
 
-    private static Map<String, TsType> getInheritedProperties(SymbolTable symbolTable, TsModel tsModel, List<TsType> parents) {
-        final Map<String, TsType> properties = new LinkedHashMap<>();
-        for (TsType parentType : parents) {
-            final TsBeanModel parent = tsModel.getBean(getOriginClass(symbolTable, parentType));
-            if (parent != null) {
-                properties.putAll(getInheritedProperties(symbolTable, tsModel, parent.getParentAndInterfaces()));
-                for (TsPropertyModel property : parent.getProperties()) {
+    /**
+     * Computes properties inherited from ancestors. Properties of each ancestor (including its own ancestors)
+     * are computed only once per TsModel and shared by all its descendants.
+     */
+    private static class InheritedPropertiesCache {
+
+        private final SymbolTable symbolTable;
+        private final TsModel tsModel;
+        private final Map<TsBeanModel, Map<String, TsType>> allProperties = new IdentityHashMap<>();
+        private final Map<TsBeanModel, List<TsPropertyModel>> allImplementedProperties = new IdentityHashMap<>();
+
+        public InheritedPropertiesCache(SymbolTable symbolTable, TsModel tsModel) {
+            this.symbolTable = symbolTable;
+            this.tsModel = tsModel;
+        }
+
+        public Map<String, TsType> getInheritedProperties(List<TsType> parents) {
+            final Map<String, TsType> properties = new LinkedHashMap<>();
+            for (TsType parentType : parents) {
+                final TsBeanModel parent = tsModel.getBean(getOriginClass(symbolTable, parentType));
+                if (parent != null) {
+                    properties.putAll(getAllProperties(parent));
+                }
+            }
+            return properties;
+        }
+
+        private Map<String, TsType> getAllProperties(TsBeanModel bean) {
+            Map<String, TsType> properties = allProperties.get(bean);
+            if (properties == null) {
+                properties = getInheritedProperties(bean.getParentAndInterfaces());
+                for (TsPropertyModel property : bean.getProperties()) {
                     properties.put(property.getName(), property.getTsType());
                 }
+                allProperties.put(bean, properties);
             }
+            return properties;
         }
-        return properties;
-    }
 
-    private static List<TsPropertyModel> getImplementedProperties(SymbolTable symbolTable, TsModel tsModel, List<TsType> interfaces) {
-        final List<TsPropertyModel> properties = new ArrayList<>();
-        for (TsType aInterface : interfaces) {
-            final TsBeanModel bean = tsModel.getBean(getOriginClass(symbolTable, aInterface));
-            if (bean != null) {
-                properties.addAll(getImplementedProperties(symbolTable, tsModel, bean.getInterfaces()));
+        public List<TsPropertyModel> getImplementedProperties(List<TsType> interfaces) {
+            final List<TsPropertyModel> properties = new ArrayList<>();
+            for (TsType aInterface : interfaces) {
+                final TsBeanModel bean = tsModel.getBean(getOriginClass(symbolTable, aInterface));
+                if (bean != null) {
+                    properties.addAll(getAllImplementedProperties(bean));
+                }
+            }
+            return properties;
+        }
+
+        private List<TsPropertyModel> getAllImplementedProperties(TsBeanModel bean) {
+            List<TsPropertyModel> properties = allImplementedProperties.get(bean);
+            if (properties == null) {
+                properties = getImplementedProperties(bean.getInterfaces());
                 properties.addAll(bean.getProperties());
+                allImplementedProperties.put(bean, properties);
             }
+            return properties;
         }
-        return properties;
+
     }
 
     private Symbol createJaxrsResponseType(SymbolTable symbolTable, TsModel tsModel) {
@@ -471,32 +522,66 @@ public class ModelCompiler {
         return new TsTemplateLiteral(spans);
     }
 
-    private TsModel transformDates(SymbolTable symbolTable, TsModel tsModel) {
+    /**
+     * Transforms dates, enums and tagged unions. Needed type aliases are created first
+     * and then types of all beans are transformed by all active transformers in one pass.
+     */
+    private TsModel transformTypes(SymbolTable symbolTable, TsModel tsModel) {
+        final List<TsType.Transformer> transformers = new ArrayList<>();
+        final Set<TsAliasModel> usedDateAliases = new LinkedHashSet<>();
+        transformers.add(createDatesTransformer(symbolTable, usedDateAliases));
+        // enums
+        final List<TsAliasModel> enumAliases = new ArrayList<>();
+        final Set<TsAliasModel> inlinedAliases = new LinkedHashSet<>();
+        if (!settings.areDefaultStringEnumsOverriddenByExtension()) {
+            if (settings.mapEnum == null || settings.mapEnum == EnumMapping.asUnion || settings.mapEnum == EnumMapping.asInlineUnion) {
+                enumAliases.addAll(createEnumUnions(tsModel));
+            }
+            if (settings.mapEnum == EnumMapping.asInlineUnion) {
+                final List<TsAliasModel> aliases = new ArrayList<>(tsModel.getTypeAliases());
+                aliases.addAll(enumAliases);
+                transformers.add(createInlineEnumsTransformer(symbolTable, tsModel.setTypeAliases(aliases), inlinedAliases));
+            }
+        }
+        // tagged unions
+        final List<TsAliasModel> taggedUnionAliases = new ArrayList<>();
+        if (!settings.disableTaggedUnions) {
+            taggedUnionAliases.addAll(createTaggedUnions(symbolTable, tsModel));
+            transformers.add(createTaggedUnionsTransformer(symbolTable));
+        }
+
+        final TsModel model = transformBeanPropertyTypes(tsModel, new TsType.Transformer.Chain(transformers), symbolTable.getTypeInterner());
+        final LinkedHashSet<TsAliasModel> typeAliases = new LinkedHashSet<>(tsModel.getTypeAliases());
+        typeAliases.addAll(usedDateAliases);
+        typeAliases.addAll(enumAliases);
+        typeAliases.removeAll(inlinedAliases);
+        typeAliases.addAll(taggedUnionAliases);
+        return model.setTypeAliases(new ArrayList<>(typeAliases));
+    }
+
+    private TsType.Transformer createDatesTransformer(SymbolTable symbolTable, final Set<TsAliasModel> usedAliases) {
         final TsAliasModel dateAsNumber = new TsAliasModel(null, symbolTable.getSyntheticSymbol("DateAsNumber"), null, TsType.Number, null);
         final TsAliasModel dateAsString = new TsAliasModel(null, symbolTable.getSyntheticSymbol("DateAsString"), null, TsType.String, null);
-        final LinkedHashSet<TsAliasModel> typeAliases = new LinkedHashSet<>(tsModel.getTypeAliases());
-        final TsModel model = transformBeanPropertyTypes(tsModel, new TsType.Transformer() {
+        return new TsType.Transformer() {
             @Override
             public TsType transform(TsType type) {
                 if (type == TsType.Date) {
                     if (settings.mapDate == DateMapping.asNumber) {
-                        typeAliases.add(dateAsNumber);
+                        usedAliases.add(dateAsNumber);
                         return new TsType.ReferenceType(dateAsNumber.getName());
                     }
                     if (settings.mapDate == DateMapping.asString) {
-                        typeAliases.add(dateAsString);
+                        usedAliases.add(dateAsString);
                         return new TsType.ReferenceType(dateAsString.getName());
                     }
                 }
                 return type;
-                
             }
-        });
-        return model.setTypeAliases(new ArrayList<>(typeAliases));
+        };
     }
 
-    private TsModel transformEnumsToUnions(TsModel tsModel) {
-        final LinkedHashSet<TsAliasModel> typeAliases = new LinkedHashSet<>(tsModel.getTypeAliases());
+    private static List<TsAliasModel> createEnumUnions(TsModel tsModel) {
+        final List<TsAliasModel> typeAliases = new ArrayList<>();
         for (TsEnumModel<String> enumModel : tsModel.getEnums(EnumKind.StringBased)) {
             final List<TsType> values = new ArrayList<>();
             for (EnumMemberModel<String> member : enumModel.getMembers()) {
@@ -505,12 +590,11 @@ public class ModelCompiler {
             final TsType union = new TsType.UnionType(values);
             typeAliases.add(new TsAliasModel(enumModel.getOrigin(), enumModel.getName(), null, union, enumModel.getComments()));
         }
-        return tsModel.setTypeAliases(new ArrayList<>(typeAliases));
+        return typeAliases;
     }
 
-    private TsModel inlineEnums(final TsModel tsModel, final SymbolTable symbolTable) {
-        final Set<TsAliasModel> inlinedAliases = new LinkedHashSet<>();
-        final TsModel newTsModel = transformBeanPropertyTypes(tsModel, new TsType.Transformer() {
+    private static TsType.Transformer createInlineEnumsTransformer(final SymbolTable symbolTable, final TsModel tsModel, final Set<TsAliasModel> inlinedAliases) {
+        return new TsType.Transformer() {
             @Override
             public TsType transform(TsType tsType) {
                 if (tsType instanceof TsType.EnumReferenceType) {
@@ -522,18 +606,11 @@ public class ModelCompiler {
                 }
                 return tsType;
             }
-        });
-        final ArrayList<TsAliasModel> aliases = new ArrayList<>(tsModel.getTypeAliases());
-        aliases.removeAll(inlinedAliases);
-        return newTsModel.setTypeAliases(aliases);
+        };
     }
 
-    private TsModel createAndUseTaggedUnions(final SymbolTable symbolTable, TsModel tsModel) {
-        if (settings.disableTaggedUnions) {
-            return tsModel;
-        }
-        // create tagged unions
-        final LinkedHashSet<TsAliasModel> typeAliases = new LinkedHashSet<>(tsModel.getTypeAliases());
+    private static List<TsAliasModel> createTaggedUnions(SymbolTable symbolTable, TsModel tsModel) {
+        final List<TsAliasModel> typeAliases = new ArrayList<>();
         for (TsBeanModel bean : tsModel.getBeans()) {
             if (!bean.getTaggedUnionClasses().isEmpty()) {
                 final Symbol unionName = symbolTable.getSymbol(bean.getOrigin(), "Union");
@@ -546,8 +623,11 @@ public class ModelCompiler {
                 typeAliases.add(new TsAliasModel(bean.getOrigin(), unionName, null, union, null));
             }
         }
-        // use tagged unions
-        final TsModel model = transformBeanPropertyTypes(tsModel, new TsType.Transformer() {
+        return typeAliases;
+    }
+
+    private static TsType.Transformer createTaggedUnionsTransformer(final SymbolTable symbolTable) {
+        return new TsType.Transformer() {
             @Override
             public TsType transform(TsType tsType) {
                 final Class<?> cls = getOriginClass(symbolTable, tsType);
@@ -559,8 +639,95 @@ public class ModelCompiler {
                 }
                 return tsType;
             }
-        });
-        return model.setTypeAliases(new ArrayList<>(typeAliases));
+        };
+    }
+
+    /**
+     * Removes beans, enums and type aliases which are not reachable from root declarations.
+     * Roots are declarations whose Java class matches {@link Settings#reachabilityRootClasses} patterns
+     * or is annotated with one of {@link Settings#reachabilityRootAnnotations}
+     * and also generated JAX-RS application interface and client.
+     * Declarations are reachable through symbols referenced from their types and beans also through their tagged union subclasses.
+     */
+    private TsModel removeUnreachableTypes(SymbolTable symbolTable, TsModel tsModel) {
+        final ClassNameMatcher rootClassMatcher = ClassNameMatcher.fromGlobs(settings.reachabilityRootClasses);
+        final List<TsDeclarationModel> declarations = new ArrayList<>();
+        declarations.addAll(tsModel.getBeans());
+        declarations.addAll(tsModel.getEnums());
+        declarations.addAll(tsModel.getTypeAliases());
+        // symbol -> declarations (tagged union alias has the same origin as its bean but different symbol)
+        final Map<Symbol, List<TsDeclarationModel>> declarationsBySymbol = new IdentityHashMap<>();
+        final Deque<TsDeclarationModel> queue = new ArrayDeque<>();
+        final Set<TsDeclarationModel> reachable = Collections.newSetFromMap(new IdentityHashMap<TsDeclarationModel, Boolean>());
+        for (TsDeclarationModel declaration : declarations) {
+            if (!declarationsBySymbol.containsKey(declaration.getName())) {
+                declarationsBySymbol.put(declaration.getName(), new ArrayList<TsDeclarationModel>());
+            }
+            declarationsBySymbol.get(declaration.getName()).add(declaration);
+            if (isReachabilityRoot(declaration.getOrigin(), rootClassMatcher) && reachable.add(declaration)) {
+                queue.add(declaration);
+            }
+        }
+        while (!queue.isEmpty()) {
+            final TsDeclarationModel declaration = queue.remove();
+            final List<TsDeclarationModel> referencedDeclarations = new ArrayList<>();
+            for (Symbol symbol : declaration.getReferencedSymbols()) {
+                final List<TsDeclarationModel> symbolDeclarations = declarationsBySymbol.get(symbol);
+                if (symbolDeclarations != null) {
+                    referencedDeclarations.addAll(symbolDeclarations);
+                }
+            }
+            if (declaration instanceof TsBeanModel) {
+                for (Class<?> cls : ((TsBeanModel) declaration).getTaggedUnionClasses()) {
+                    final TsBeanModel subBean = tsModel.getBean(cls);
+                    if (subBean != null) {
+                        referencedDeclarations.add(subBean);
+                    }
+                }
+            }
+            for (TsDeclarationModel referencedDeclaration : referencedDeclarations) {
+                if (reachable.add(referencedDeclaration)) {
+                    queue.add(referencedDeclaration);
+                }
+            }
+        }
+        final List<TsBeanModel> beans = new ArrayList<>();
+        final List<TsEnumModel<?>> enums = new ArrayList<>();
+        final List<TsAliasModel> typeAliases = new ArrayList<>();
+        int removedCount = 0;
+        for (TsDeclarationModel declaration : declarations) {
+            if (!reachable.contains(declaration)) {
+                System.out.println("Removed unreachable type: " + declaration.getName());
+                removedCount++;
+            } else if (declaration instanceof TsBeanModel) {
+                beans.add((TsBeanModel) declaration);
+            } else if (declaration instanceof TsEnumModel) {
+                enums.add((TsEnumModel<?>) declaration);
+            } else if (declaration instanceof TsAliasModel) {
+                typeAliases.add((TsAliasModel) declaration);
+            }
+        }
+        System.out.println(String.format("Removed %d unreachable types, %d types remained", removedCount, reachable.size()));
+        return removedCount > 0 ? new TsModel(beans, enums, typeAliases) : tsModel;
+    }
+
+    private boolean isReachabilityRoot(Class<?> origin, ClassNameMatcher rootClassMatcher) {
+        if (origin == null) {
+            return false;
+        }
+        // JAX-RS application interface and client have Application origin
+        if (origin == Application.class) {
+            return true;
+        }
+        if (rootClassMatcher.test(origin.getName())) {
+            return true;
+        }
+        for (Class<? extends Annotation> annotation : settings.reachabilityRootAnnotations) {
+            if (origin.getAnnotation(annotation) != null) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private TsModel sortDeclarations(SymbolTable symbolTable, TsModel tsModel) {
@@ -599,27 +766,64 @@ public class ModelCompiler {
         orderedBeans.add(bean);
     }
 
-    private static TsModel transformBeanPropertyTypes(TsModel tsModel, TsType.Transformer transformer) {
+    /**
+     * Transforms types of bean properties, method parameters and return types.
+     * Beans, properties and methods which don't contain any changed type are kept (the same instances are returned),
+     * changed types are interned.
+     */
+    private static TsModel transformBeanPropertyTypes(TsModel tsModel, TsType.Transformer transformer, TsTypeInterner interner) {
+        boolean modelChanged = false;
         final List<TsBeanModel> newBeans = new ArrayList<>();
         for (TsBeanModel bean : tsModel.getBeans()) {
-            final List<TsPropertyModel> newProperties = new ArrayList<>();
-            for (TsPropertyModel property : bean.getProperties()) {
-                final TsType newType = TsType.transformTsType(property.getTsType(), transformer);
-                newProperties.add(property.setTsType(newType));
-            }
-            final List<TsMethodModel> newMethods = new ArrayList<>();
-            for (TsMethodModel method : bean.getMethods()) {
-                final List<TsParameterModel> newParameters = new ArrayList<>();
-                for (TsParameterModel parameter : method.getParameters()) {
-                    final TsType newParameterType = TsType.transformTsType(parameter.getTsType(), transformer);
-                    newParameters.add(new TsParameterModel(parameter.getAccessibilityModifier(), parameter.getName(), newParameterType));
+            final TsBeanModel newBean = transformBeanPropertyTypes(bean, transformer, interner);
+            modelChanged = modelChanged || newBean != bean;
+            newBeans.add(newBean);
+        }
+        return modelChanged ? tsModel.setBeans(newBeans) : tsModel;
+    }
+
+    private static TsBeanModel transformBeanPropertyTypes(TsBeanModel bean, TsType.Transformer transformer, TsTypeInterner interner) {
+        boolean propertiesChanged = false;
+        final List<TsPropertyModel> newProperties = new ArrayList<>();
+        for (TsPropertyModel property : bean.getProperties()) {
+            final TsType newType = TsType.transformTsType(property.getTsType(), transformer);
+            if (newType != property.getTsType()) {
+                propertiesChanged = true;
+                newProperties.add(property.setTsType(interner.intern(newType)));
+            } else {
+                newProperties.add(property);
+            }
+        }
+        boolean methodsChanged = false;
+        final List<TsMethodModel> newMethods = new ArrayList<>();
+        for (TsMethodModel method : bean.getMethods()) {
+            boolean parametersChanged = false;
+            final List<TsParameterModel> newParameters = new ArrayList<>();
+            for (TsParameterModel parameter : method.getParameters()) {
+                final TsType newParameterType = TsType.transformTsType(parameter.getTsType(), transformer);
+                if (newParameterType != parameter.getTsType()) {
+                    parametersChanged = true;
+                    newParameters.add(new TsParameterModel(parameter.getAccessibilityModifier(), parameter.getName(), interner.intern(newParameterType)));
+                } else {
+                    newParameters.add(parameter);
                 }
-                final TsType newReturnType = TsType.transformTsType(method.getReturnType(), transformer);
-                newMethods.add(new TsMethodModel(method.getName(), newReturnType, newParameters, method.getBody(), method.getComments()));
             }
-            newBeans.add(bean.withProperties(newProperties).withMethods(newMethods));
+            final TsType newReturnType = TsType.transformTsType(method.getReturnType(), transformer);
+            if (parametersChanged || newReturnType != method.getReturnType()) {
+                methodsChanged = true;
+                newMethods.add(new TsMethodModel(method.getName(), interner.intern(newReturnType), newParameters, method.getBody(), method.getComments()));
+            } else {
+                newMethods.add(method);
+            }
+        }
+        TsBeanModel newBean = bean;
+        if (propertiesChanged) {
+            newBean = newBean.withProperties(newProperties);
+        }
+        if (methodsChanged) {
+            newBean = newBean.withMethods(newMethods);
         }
-        return tsModel.setBeans(newBeans);
+        return newBean;
     }
 
     private static Class<?> getOriginClass(SymbolTable symbolTable, TsType type) {
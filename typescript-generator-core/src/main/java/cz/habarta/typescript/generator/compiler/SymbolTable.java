@@ -2,8 +2,11 @@
 package cz.habarta.typescript.generator.compiler;
 
 import cz.habarta.typescript.generator.Settings;
+import cz.habarta.typescript.generator.TypeProcessor;
 import cz.habarta.typescript.generator.util.Pair;
+import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
@@ -17,7 +20,10 @@ public class SymbolTable {
 
     private final Settings settings;
     private final LinkedHashMap<Pair<Class<?>, String>, Symbol> symbols = new LinkedHashMap<>();
+    private final Map<Symbol, Class<?>> symbolClasses = new IdentityHashMap<>();
     private final LinkedHashMap<String, Symbol> syntheticSymbols = new LinkedHashMap<>();
+    private final Map<TypeProcessor, Map<Type, TypeProcessor.Result>> typeProcessorResults = new IdentityHashMap<>();
+    private final TsTypeInterner typeInterner = new TsTypeInterner();
     private CustomTypeNamingFunction customTypeNamingFunction;
 
     public SymbolTable(Settings settings) {
@@ -28,26 +34,47 @@ public class SymbolTable {
         return getSymbol(cls, null);
     }
 
-    public Symbol getSymbol(Class<?> cls, String suffix) {
+    public synchronized Symbol getSymbol(Class<?> cls, String suffix) {
         final Pair<Class<?>, String> key = Pair.<Class<?>, String>of(cls, suffix);
         if (!symbols.containsKey(key)) {
             final String suffixString = suffix != null ? suffix : "";
-            symbols.put(key, new Symbol("$" + cls.getName().replace('.', '$') + suffixString + "$"));
+            final Symbol symbol = new Symbol("$" + cls.getName().replace('.', '$') + suffixString + "$");
+            symbols.put(key, symbol);
+            symbolClasses.put(symbol, cls);
         }
         return symbols.get(key);
     }
 
-    public Symbol hasSymbol(Class<?> cls, String suffix) {
+    /**
+     * Returns cache of results of specified type processor.
+     * Results contain symbols from this symbol table so they are cached together with it.
+     * @return <code>null</code> if caching is disabled using {@link Settings#disableTypeProcessorCache}
+     */
+    public synchronized Map<Type, TypeProcessor.Result> getTypeProcessorResults(TypeProcessor typeProcessor) {
+        if (settings.disableTypeProcessorCache) {
+            return null;
+        }
+        Map<Type, TypeProcessor.Result> results = typeProcessorResults.get(typeProcessor);
+        if (results == null) {
+            results = new ConcurrentHashMap<>();
+            typeProcessorResults.put(typeProcessor, results);
+        }
+        return results;
+    }
+
+    /**
+     * Returns table of canonical TsType instances. Interned types contain symbols from this symbol table.
+     */
+    public TsTypeInterner getTypeInterner() {
+        return typeInterner;
+    }
+
+    public synchronized Symbol hasSymbol(Class<?> cls, String suffix) {
         return symbols.get(Pair.<Class<?>, String>of(cls, suffix));
     }
 
     public Class<?> getSymbolClass(Symbol symbol) {
-        for (Map.Entry<Pair<Class<?>, String>, Symbol> entry : symbols.entrySet()) {
-            if (entry.getValue() == symbol) {
-                return entry.getKey().getValue1();
-            }
-        }
-        return null;
+        return symbolClasses.get(symbol);
     }
 
     public Symbol getSyntheticSymbol(String name) {
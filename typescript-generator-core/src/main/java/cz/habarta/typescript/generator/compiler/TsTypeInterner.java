@@ -0,0 +1,199 @@
+
+package cz.habarta.typescript.generator.compiler;
+
+import cz.habarta.typescript.generator.TsProperty;
+import cz.habarta.typescript.generator.TsType;
+import java.util.*;
+
+
+/**
+ * Table of canonical TsType instances so structurally equal types share one instance.
+ * Types are compared by their nested (already interned) types and symbols using reference equality,
+ * this means that the result doesn't depend on symbol names which are resolved later.
+ * Types of unknown classes (for example created by extensions) are returned unchanged.
+ * Built-in basic types (like {@link TsType#Date}) are keyed by identity because some transformations recognize them by reference,
+ * so equally named basic types created elsewhere (for example by custom type mappings) are not replaced by them.
+ * Table is created for each compilation (together with {@link SymbolTable}) and symbols from different tables are never mixed.
+ */
+public class TsTypeInterner {
+
+    private final Map<Key, TsType> types = new HashMap<>();
+    // only canonical instances are recorded, duplicates are resolved by key and not retained
+    private final Map<TsType, TsType> canonicalTypes = new IdentityHashMap<>();
+    private static final Set<TsType> builtInTypes = Collections.newSetFromMap(new IdentityHashMap<TsType, Boolean>());
+    static {
+        builtInTypes.addAll(Arrays.asList(TsType.Any, TsType.Boolean, TsType.Number, TsType.String, TsType.Date, TsType.Void));
+    }
+
+    public synchronized TsType intern(TsType type) {
+        if (type == null) {
+            return null;
+        }
+        final TsType canonicalType = canonicalTypes.get(type);
+        if (canonicalType != null) {
+            return canonicalType;
+        }
+        return internNew(type);
+    }
+
+    public synchronized List<TsType> intern(List<TsType> types) {
+        final List<TsType> internedTypes = new ArrayList<>();
+        for (TsType type : types) {
+            internedTypes.add(intern(type));
+        }
+        return internedTypes;
+    }
+
+    private TsType internNew(TsType type) {
+        final Class<?> typeClass = type.getClass();
+        final Key key;
+        final TsType candidate;
+        if (typeClass == TsType.BasicType.class) {
+            final TsType.BasicType basicType = (TsType.BasicType) type;
+            key = builtInTypes.contains(type) ? new Key(typeClass, type) : new Key(typeClass, basicType.name);
+            candidate = type;
+        } else if (typeClass == TsType.GenericVariableType.class) {
+            final TsType.GenericVariableType variableType = (TsType.GenericVariableType) type;
+            key = new Key(typeClass, variableType.name);
+            candidate = type;
+        } else if (typeClass == TsType.VerbatimType.class) {
+            final TsType.VerbatimType verbatimType = (TsType.VerbatimType) type;
+            key = new Key(typeClass, verbatimType.verbatimType);
+            candidate = type;
+        } else if (typeClass == TsType.StringLiteralType.class) {
+            final TsType.StringLiteralType literalType = (TsType.StringLiteralType) type;
+            key = new Key(typeClass, literalType.literal);
+            candidate = type;
+        } else if (typeClass == TsType.ReferenceType.class || typeClass == TsType.EnumReferenceType.class) {
+            final TsType.ReferenceType referenceType = (TsType.ReferenceType) type;
+            key = new Key(typeClass, referenceType.symbol);
+            candidate = type;
+        } else if (typeClass == TsType.GenericReferenceType.class) {
+            final TsType.GenericReferenceType referenceType = (TsType.GenericReferenceType) type;
+            final List<TsType> typeArguments = intern(referenceType.typeArguments);
+            key = new Key(typeClass, referenceType.symbol, typeArguments);
+            candidate = sameInstances(typeArguments, referenceType.typeArguments) ? type : new TsType.GenericReferenceType(referenceType.symbol, typeArguments);
+        } else if (typeClass == TsType.BasicArrayType.class) {
+            final TsType.BasicArrayType arrayType = (TsType.BasicArrayType) type;
+            final TsType elementType = intern(arrayType.elementType);
+            key = new Key(typeClass, elementType);
+            candidate = elementType == arrayType.elementType ? type : new TsType.BasicArrayType(elementType);
+        } else if (typeClass == TsType.IndexedArrayType.class) {
+            final TsType.IndexedArrayType arrayType = (TsType.IndexedArrayType) type;
+            final TsType indexType = intern(arrayType.indexType);
+            final TsType elementType = intern(arrayType.elementType);
+            key = new Key(typeClass, indexType, elementType);
+            candidate = indexType == arrayType.indexType && elementType == arrayType.elementType ? type : new TsType.IndexedArrayType(indexType, elementType);
+        } else if (typeClass == TsType.UnionType.class) {
+            final TsType.UnionType unionType = (TsType.UnionType) type;
+            final List<TsType> unionTypes = intern(unionType.types);
+            key = new Key(typeClass, unionTypes);
+            candidate = sameInstances(unionTypes, unionType.types) ? type : new TsType.UnionType(unionTypes);
+        } else if (typeClass == TsType.OptionalType.class) {
+            final TsType.OptionalType optionalType = (TsType.OptionalType) type;
+            final TsType innerType = intern(optionalType.type);
+            key = new Key(typeClass, innerType);
+            candidate = innerType == optionalType.type ? type : new TsType.OptionalType(innerType);
+        } else if (typeClass == TsType.ObjectType.class) {
+            final TsType.ObjectType objectType = (TsType.ObjectType) type;
+            final List<Object> parts = new ArrayList<>();
+            final List<TsProperty> properties = new ArrayList<>();
+            boolean changed = false;
+            for (TsProperty property : objectType.properties) {
+                if (property.getClass() != TsProperty.class) {
+                    return type;
+                }
+                final TsType propertyType = intern(property.tsType);
+                changed = changed || propertyType != property.tsType;
+                properties.add(propertyType == property.tsType ? property : new TsProperty(property.name, propertyType));
+                parts.add(property.name);
+                parts.add(propertyType);
+            }
+            key = new Key(typeClass, parts);
+            candidate = changed ? new TsType.ObjectType(properties) : type;
+        } else {
+            return type;
+        }
+        final TsType existingType = types.get(key);
+        if (existingType != null) {
+            return existingType;
+        }
+        types.put(key, candidate);
+        canonicalTypes.put(candidate, candidate);
+        return candidate;
+    }
+
+    private static boolean sameInstances(List<TsType> list1, List<TsType> list2) {
+        for (int i = 0; i < list1.size(); i++) {
+            if (list1.get(i) != list2.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Strings are compared using equals, other parts (interned types and symbols) using reference equality.
+     */
+    private static class Key {
+
+        private final Class<?> typeClass;
+        private final Object[] parts;
+        private final int hashCode;
+
+        public Key(Class<?> typeClass, Object... parts) {
+            this(typeClass, Arrays.asList(parts));
+        }
+
+        public Key(Class<?> typeClass, List<?> parts) {
+            this.typeClass = typeClass;
+            this.parts = flatten(parts);
+            int hash = typeClass.hashCode();
+            for (Object part : this.parts) {
+                hash = 31 * hash + (part instanceof String || part instanceof Integer ? part.hashCode() : System.identityHashCode(part));
+            }
+            this.hashCode = hash;
+        }
+
+        private static Object[] flatten(List<?> parts) {
+            final List<Object> result = new ArrayList<>();
+            for (Object part : parts) {
+                if (part instanceof List) {
+                    final List<?> list = (List<?>) part;
+                    // length prevents ambiguity between lists and following parts
+                    result.add(list.size());
+                    result.addAll(list);
+                } else {
+                    result.add(part);
+                }
+            }
+            return result.toArray();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            if (typeClass != other.typeClass || hashCode != other.hashCode || parts.length != other.parts.length) {
+                return false;
+            }
+            for (int i = 0; i < parts.length; i++) {
+                final Object part = parts[i];
+                final Object otherPart = other.parts[i];
+                if (part instanceof String || part instanceof Integer ? !part.equals(otherPart) : part != otherPart) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -9,33 +9,80 @@ import cz.habarta.typescript.generator.util.Utils;
 import java.io.*;
 import java.text.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 
+/**
+ * Emits TsModel to TypeScript source.
+ * Emitter is reentrant and can be shared by concurrent generations,
+ * state of one emitting (output writer and current indentation) is held by separate emitter instance
+ * created for each call of {@link #emit} or {@link #emitModuleIndex}.
+ */
 public class Emitter {
 
     private final Settings settings;
-    private Writer writer;
-    private boolean forceExportKeyword;
+    private final Writer writer;
+    private final boolean forceExportKeyword;
     private int indent;
 
     public Emitter(Settings settings) {
+        this(settings, null, false, 0);
+    }
+
+    private Emitter(Settings settings, Writer writer, boolean forceExportKeyword, int indent) {
         this.settings = settings;
+        this.writer = writer;
+        this.forceExportKeyword = forceExportKeyword;
+        this.indent = indent;
     }
 
     public void emit(TsModel model, Writer output, String outputName, boolean closeOutput, boolean forceExportKeyword, int initialIndentationLevel) {
-        this.writer = output;
-        this.forceExportKeyword = forceExportKeyword;
-        this.indent = initialIndentationLevel;
+        emit(model, output, outputName, closeOutput, forceExportKeyword, initialIndentationLevel, Collections.<String>emptyList());
+    }
+
+    /**
+     * @param moduleImports import declarations of symbols from other modules (emitted after imports from settings)
+     */
+    public void emit(TsModel model, Writer output, String outputName, boolean closeOutput, boolean forceExportKeyword, int initialIndentationLevel, List<String> moduleImports) {
+        new Emitter(settings, output, forceExportKeyword, initialIndentationLevel).emitFile(model, outputName, closeOutput, moduleImports);
+    }
+
+    private void emitFile(TsModel model, String outputName, boolean closeOutput, List<String> moduleImports) {
         if (outputName != null) {
             System.out.println("Writing declarations to: " + outputName);
         }
         emitFileComment();
         emitReferences();
-        emitImports();
+        emitImports(moduleImports);
         emitModule(model);
         emitUmdNamespace();
         if (closeOutput) {
             close();
+        } else {
+            flush();
+        }
+    }
+
+    /**
+     * Emits index file which re-exports declarations from all specified modules.
+     */
+    public void emitModuleIndex(List<String> moduleNames, Writer output, String outputName, boolean closeOutput) {
+        new Emitter(settings, output, false, 0).emitModuleIndexFile(moduleNames, outputName, closeOutput);
+    }
+
+    private void emitModuleIndexFile(List<String> moduleNames, String outputName, boolean closeOutput) {
+        if (outputName != null) {
+            System.out.println("Writing module index to: " + outputName);
+        }
+        emitFileComment();
+        writeNewLine();
+        for (String moduleName : moduleNames) {
+            writeIndentedLine("export * from " + quote("./" + moduleName, settings) + ";");
+        }
+        if (closeOutput) {
+            close();
+        } else {
+            flush();
         }
     }
 
@@ -55,10 +102,15 @@ public class Emitter {
         }
     }
 
-    private void emitImports() {
-        if (settings.importDeclarations != null && !settings.importDeclarations.isEmpty()) {
+    private void emitImports(List<String> moduleImports) {
+        final List<String> importDeclarations = new ArrayList<>();
+        if (settings.importDeclarations != null) {
+            importDeclarations.addAll(settings.importDeclarations);
+        }
+        importDeclarations.addAll(moduleImports);
+        if (!importDeclarations.isEmpty()) {
             writeNewLine();
-            for (String importDeclaration : settings.importDeclarations) {
+            for (String importDeclaration : importDeclarations) {
                 writeIndentedLine(importDeclaration + ";");
             }
         }
@@ -104,9 +156,11 @@ public class Emitter {
 
     private void emitElements(TsModel model, boolean exportKeyword, boolean declareKeyword) {
         exportKeyword = exportKeyword || forceExportKeyword;
-        emitBeans(model, exportKeyword);
-        emitTypeAliases(model, exportKeyword);
-        emitNumberEnums(model, exportKeyword, declareKeyword);
+        final List<Fragment> fragments = new ArrayList<>();
+        addBeans(fragments, model, exportKeyword);
+        addTypeAliases(fragments, model, exportKeyword);
+        addNumberEnums(fragments, model, exportKeyword, declareKeyword);
+        emitFragments(fragments);
         for (EmitterExtension emitterExtension : settings.extensions) {
             writeNewLine();
             writeNewLine();
@@ -120,32 +174,94 @@ public class Emitter {
         }
     }
 
-    private void emitBeans(TsModel model, boolean exportKeyword) {
-        for (TsBeanModel bean : model.getBeans()) {
-            writeNewLine();
-            emitComments(bean.getComments());
-            final String declarationType = bean.isClass() ? "class" : "interface";
-            final String typeParameters = bean.getTypeParameters().isEmpty() ? "" : "<" + Utils.join(bean.getTypeParameters(), ", ")+ ">";
-            final List<TsType> extendsList = bean.getExtendsList();
-            final List<TsType> implementsList = bean.getImplementsList();
-            final String extendsClause = extendsList.isEmpty() ? "" : " extends " + Utils.join(extendsList, ", ");
-            final String implementsClause = implementsList.isEmpty() ? "" : " implements " + Utils.join(implementsList, ", ");
-            writeIndentedLine(exportKeyword, declarationType + " " + bean.getName() + typeParameters + extendsClause + implementsClause + " {");
-            indent++;
-            for (TsPropertyModel property : bean.getProperties()) {
-                emitProperty(property);
-            }
-            if (bean.getConstructor() != null) {
-                emitCallable(bean.getConstructor());
+    /**
+     * Part of output (one declaration) which can be emitted independently of other parts.
+     */
+    private abstract class Fragment implements Callable<String> {
+
+        private final int fragmentIndent = indent;
+
+        protected abstract void emit(Emitter emitter);
+
+        /**
+         * Emits this fragment to a string using separate emitter with the same indentation.
+         */
+        @Override
+        public String call() {
+            final Emitter emitter = new Emitter(settings, new StringWriter(), forceExportKeyword, fragmentIndent);
+            emit(emitter);
+            return emitter.writer.toString();
+        }
+
+    }
+
+    /**
+     * Emits fragments in their order. When {@link Settings#parallelEmitting} is enabled fragments are rendered
+     * to strings in parallel and then written in the original order so the output is the same.
+     */
+    private void emitFragments(List<Fragment> fragments) {
+        if (settings.parallelEmitting && fragments.size() > 1) {
+            final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            try {
+                for (Future<String> future : pool.invokeAll(fragments)) {
+                    writer.write(future.get());
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new RuntimeException(cause);
+            } finally {
+                pool.shutdown();
             }
-            for (TsMethodModel method : bean.getMethods()) {
-                emitCallable(method);
+        } else {
+            for (Fragment fragment : fragments) {
+                fragment.emit(this);
             }
-            indent--;
-            writeIndentedLine("}");
         }
     }
 
+    private void addBeans(List<Fragment> fragments, TsModel model, final boolean exportKeyword) {
+        for (final TsBeanModel bean : model.getBeans()) {
+            fragments.add(new Fragment() {
+                @Override
+                protected void emit(Emitter emitter) {
+                    emitter.emitBean(bean, exportKeyword);
+                }
+            });
+        }
+    }
+
+    private void emitBean(TsBeanModel bean, boolean exportKeyword) {
+        writeNewLine();
+        emitComments(bean.getComments());
+        final String declarationType = bean.isClass() ? "class" : "interface";
+        final String typeParameters = bean.getTypeParameters().isEmpty() ? "" : "<" + Utils.join(bean.getTypeParameters(), ", ")+ ">";
+        final List<TsType> extendsList = bean.getExtendsList();
+        final List<TsType> implementsList = bean.getImplementsList();
+        final String extendsClause = extendsList.isEmpty() ? "" : " extends " + Utils.join(extendsList, ", ");
+        final String implementsClause = implementsList.isEmpty() ? "" : " implements " + Utils.join(implementsList, ", ");
+        writeIndentedLine(exportKeyword, declarationType + " " + bean.getName() + typeParameters + extendsClause + implementsClause + " {");
+        indent++;
+        for (TsPropertyModel property : bean.getProperties()) {
+            emitProperty(property);
+        }
+        if (bean.getConstructor() != null) {
+            emitCallable(bean.getConstructor());
+        }
+        for (TsMethodModel method : bean.getMethods()) {
+            emitCallable(method);
+        }
+        indent--;
+        writeIndentedLine("}");
+    }
+
     private void emitProperty(TsPropertyModel property) {
         emitComments(property.getComments());
         final TsType tsType = property.getTsType();
@@ -216,52 +332,70 @@ public class Emitter {
         }
     }
 
-    private void emitTypeAliases(TsModel model, boolean exportKeyword) {
-        for (TsAliasModel alias : model.getTypeAliases()) {
-            writeNewLine();
-            emitComments(alias.getComments());
-            final String genericParameters = alias.getTypeParameters().isEmpty()
-                    ? ""
-                    : "<" + Utils.join(alias.getTypeParameters(), ", ") + ">";
-            if(alias.getDefinition() instanceof UnionType){
-            	UnionType union = (UnionType) alias.getDefinition();
-            	StringBuffer typeValues = new StringBuffer();
-            	StringBuffer allValues = new StringBuffer("values:[");
-            	for(TsType type:union.types){
-            		String typeName = type.format(settings);
-            		String typeValue = typeName+" as "+alias.getName();
-            		typeValues.append(typeName).append(":").append(typeValue).append(",");
-            		allValues.append(typeValue).append(",");
-            	}
-            	if(typeValues.length() != 0){
-            		allValues.append("]");
-            		typeValues.append(allValues);
-            	}
-            	writeIndentedLine(exportKeyword, "const " + alias.getName() + " = {" + typeValues + "};");
-            }
-            writeIndentedLine(exportKeyword, "type " + alias.getName() + genericParameters + " = " + alias.getDefinition().format(settings) + ";");
+    private void addTypeAliases(List<Fragment> fragments, TsModel model, final boolean exportKeyword) {
+        for (final TsAliasModel alias : model.getTypeAliases()) {
+            fragments.add(new Fragment() {
+                @Override
+                protected void emit(Emitter emitter) {
+                    emitter.emitTypeAlias(alias, exportKeyword);
+                }
+            });
         }
     }
 
-    private void emitNumberEnums(TsModel model, boolean exportKeyword, boolean declareKeyword) {
+    private void emitTypeAlias(TsAliasModel alias, boolean exportKeyword) {
+        writeNewLine();
+        emitComments(alias.getComments());
+        final String genericParameters = alias.getTypeParameters().isEmpty()
+                ? ""
+                : "<" + Utils.join(alias.getTypeParameters(), ", ") + ">";
+        if(alias.getDefinition() instanceof UnionType){
+        	UnionType union = (UnionType) alias.getDefinition();
+        	StringBuffer typeValues = new StringBuffer();
+        	StringBuffer allValues = new StringBuffer("values:[");
+        	for(TsType type:union.types){
+        		String typeName = type.format(settings);
+        		String typeValue = typeName+" as "+alias.getName();
+        		typeValues.append(typeName).append(":").append(typeValue).append(",");
+        		allValues.append(typeValue).append(",");
+        	}
+        	if(typeValues.length() != 0){
+        		allValues.append("]");
+        		typeValues.append(allValues);
+        	}
+        	writeIndentedLine(exportKeyword, "const " + alias.getName() + " = {" + typeValues + "};");
+        }
+        writeIndentedLine(exportKeyword, "type " + alias.getName() + genericParameters + " = " + alias.getDefinition().format(settings) + ";");
+    }
+
+    private void addNumberEnums(List<Fragment> fragments, TsModel model, final boolean exportKeyword, final boolean declareKeyword) {
         final ArrayList<TsEnumModel<?>> enums = settings.mapEnum == EnumMapping.asNumberBasedEnum && !settings.areDefaultStringEnumsOverriddenByExtension()
                 ? new ArrayList<>(model.getEnums())
                 : new ArrayList<TsEnumModel<?>>(model.getEnums(EnumKind.NumberBased));
-        for (TsEnumModel<?> enumModel : enums) {
-            writeNewLine();
-            emitComments(enumModel.getComments());
-            writeIndentedLine(exportKeyword, (declareKeyword ? "declare " : "") + "const enum " + enumModel.getName() + " {");
-            indent++;
-            for (EnumMemberModel<?> member : enumModel.getMembers()) {
-                emitComments(member.getComments());
-                final String initializer = enumModel.getKind() == EnumKind.NumberBased
-                        ? " = " + member.getEnumValue()
-                        : "";
-                writeIndentedLine(member.getPropertyName() + initializer + ",");
-            }
-            indent--;
-            writeIndentedLine("}");
+        for (final TsEnumModel<?> enumModel : enums) {
+            fragments.add(new Fragment() {
+                @Override
+                protected void emit(Emitter emitter) {
+                    emitter.emitNumberEnum(enumModel, exportKeyword, declareKeyword);
+                }
+            });
+        }
+    }
+
+    private void emitNumberEnum(TsEnumModel<?> enumModel, boolean exportKeyword, boolean declareKeyword) {
+        writeNewLine();
+        emitComments(enumModel.getComments());
+        writeIndentedLine(exportKeyword, (declareKeyword ? "declare " : "") + "const enum " + enumModel.getName() + " {");
+        indent++;
+        for (EnumMemberModel<?> member : enumModel.getMembers()) {
+            emitComments(member.getComments());
+            final String initializer = enumModel.getKind() == EnumKind.NumberBased
+                    ? " = " + member.getEnumValue()
+                    : "";
+            writeIndentedLine(member.getPropertyName() + initializer + ",");
         }
+        indent--;
+        writeIndentedLine("}");
     }
 
     private void emitUmdNamespace() {
@@ -302,6 +436,13 @@ public class Emitter {
     private void writeNewLine() {
         try {
             writer.write(settings.newline);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void flush() {
+        try {
             writer.flush();
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -0,0 +1,145 @@
+
+package cz.habarta.typescript.generator.emitter;
+
+import cz.habarta.typescript.generator.*;
+import cz.habarta.typescript.generator.compiler.Symbol;
+import cz.habarta.typescript.generator.util.Utils;
+import java.util.*;
+import javax.ws.rs.core.Application;
+
+
+/**
+ * Splits TsModel into modules (one module per Java package or per group configured in {@link Settings#outputModuleMappings})
+ * and computes imports needed by each module from symbols referenced in its declarations.
+ * Declarations without Java origin (like type aliases for dates, JAX-RS application interface and client)
+ * are placed to {@link #CommonModuleName} module.
+ */
+public class ModuleSplitter {
+
+    public static final String CommonModuleName = "common";
+
+    private final Settings settings;
+
+    public ModuleSplitter(Settings settings) {
+        this.settings = settings;
+    }
+
+    public static class Module {
+
+        private final String name;
+        private final TsModel model;
+        private final List<String> importDeclarations;
+
+        public Module(String name, TsModel model, List<String> importDeclarations) {
+            this.name = name;
+            this.model = model;
+            this.importDeclarations = importDeclarations;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public TsModel getModel() {
+            return model;
+        }
+
+        /**
+         * Returns import declarations (without semicolon) of symbols declared in other modules.
+         */
+        public List<String> getImportDeclarations() {
+            return importDeclarations;
+        }
+
+    }
+
+    /**
+     * Returns modules sorted by name, declarations in each module keep their order from the original model.
+     */
+    public List<Module> split(TsModel tsModel) {
+        final Map<String, TsModel> models = new TreeMap<>();
+        final Map<Symbol, String> declaringModules = new IdentityHashMap<>();
+        for (TsBeanModel bean : tsModel.getBeans()) {
+            getModel(models, declaringModules, bean).getBeans().add(bean);
+        }
+        for (TsEnumModel<?> enumModel : tsModel.getEnums()) {
+            getModel(models, declaringModules, enumModel).getEnums().add(enumModel);
+        }
+        for (TsAliasModel alias : tsModel.getTypeAliases()) {
+            getModel(models, declaringModules, alias).getTypeAliases().add(alias);
+        }
+        final List<Module> modules = new ArrayList<>();
+        for (Map.Entry<String, TsModel> entry : models.entrySet()) {
+            final String moduleName = entry.getKey();
+            final TsModel model = entry.getValue();
+            modules.add(new Module(moduleName, model, getImportDeclarations(moduleName, model, declaringModules)));
+        }
+        return modules;
+    }
+
+    private TsModel getModel(Map<String, TsModel> models, Map<Symbol, String> declaringModules, TsDeclarationModel declaration) {
+        final String moduleName = getModuleName(declaration.getOrigin());
+        declaringModules.put(declaration.getName(), moduleName);
+        TsModel model = models.get(moduleName);
+        if (model == null) {
+            model = new TsModel();
+            models.put(moduleName, model);
+        }
+        return model;
+    }
+
+    /**
+     * Returns name of the module for declarations with specified origin.
+     * The longest mapping which matches class name (or its package or outer class) is used,
+     * if there is no such mapping package name is used.
+     */
+    public String getModuleName(Class<?> origin) {
+        // JAX-RS application interface and client have Application origin
+        if (origin == null || origin == Application.class) {
+            return CommonModuleName;
+        }
+        final String className = origin.getName();
+        String mappedName = null;
+        int mappedLength = -1;
+        for (Map.Entry<String, String> entry : settings.outputModuleMappings.entrySet()) {
+            final String prefix = entry.getKey();
+            final boolean matches = className.equals(prefix) || className.startsWith(prefix + ".") || className.startsWith(prefix + "$");
+            if (matches && prefix.length() > mappedLength) {
+                mappedName = entry.getValue();
+                mappedLength = prefix.length();
+            }
+        }
+        if (mappedName != null) {
+            return mappedName;
+        }
+        final int lastDot = className.lastIndexOf('.');
+        return lastDot != -1 ? className.substring(0, lastDot) : CommonModuleName;
+    }
+
+    private List<String> getImportDeclarations(String moduleName, TsModel model, Map<Symbol, String> declaringModules) {
+        final Set<Symbol> symbols = new LinkedHashSet<>();
+        for (TsBeanModel bean : model.getBeans()) {
+            symbols.addAll(bean.getReferencedSymbols());
+        }
+        for (TsAliasModel alias : model.getTypeAliases()) {
+            symbols.addAll(alias.getReferencedSymbols());
+        }
+        // imported module -> names
+        final Map<String, Set<String>> imports = new TreeMap<>();
+        for (Symbol symbol : symbols) {
+            final String declaringModule = declaringModules.get(symbol);
+            if (declaringModule != null && !declaringModule.equals(moduleName)) {
+                if (!imports.containsKey(declaringModule)) {
+                    imports.put(declaringModule, new TreeSet<String>());
+                }
+                imports.get(declaringModule).add(symbol.toString());
+            }
+        }
+        final List<String> importDeclarations = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> entry : imports.entrySet()) {
+            importDeclarations.add("import { " + Utils.join(entry.getValue(), ", ") + " } from " + Emitter.quote("./" + entry.getKey(), settings));
+        }
+        return importDeclarations;
+    }
+
+}
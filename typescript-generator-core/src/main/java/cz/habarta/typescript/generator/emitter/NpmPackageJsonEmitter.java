@@ -10,20 +10,17 @@ import java.io.*;
 
 public class NpmPackageJsonEmitter {
 
-    private Writer writer;
-
     public void emit(NpmPackageJson npmPackageJson, Writer output, String outputName, boolean closeOutput) {
-        this.writer = output;
         if (outputName != null) {
             System.out.println("Writing NPM package to: " + outputName);
         }
-        emitPackageJson(npmPackageJson);
+        emitPackageJson(npmPackageJson, output);
         if (closeOutput) {
-            close();
+            close(output);
         }
     }
 
-    private void emitPackageJson(NpmPackageJson npmPackageJson) {
+    private static void emitPackageJson(NpmPackageJson npmPackageJson, Writer writer) {
         try {
             final ObjectMapper objectMapper = new ObjectMapper();
             objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
@@ -35,7 +32,7 @@ public class NpmPackageJsonEmitter {
         }
     }
 
-    private void close() {
+    private static void close(Writer writer) {
         try {
             writer.close();
         } catch (IOException e) {
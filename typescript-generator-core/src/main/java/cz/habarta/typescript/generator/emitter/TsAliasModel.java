@@ -25,4 +25,11 @@ public class TsAliasModel extends TsDeclarationModel {
         return definition;
     }
 
+    @Override
+    public Set<Symbol> getReferencedSymbols() {
+        final Set<Symbol> symbols = super.getReferencedSymbols();
+        addReferencedSymbols(symbols, definition);
+        return symbols;
+    }
+
 }
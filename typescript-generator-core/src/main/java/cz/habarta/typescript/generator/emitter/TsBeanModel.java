@@ -91,4 +91,21 @@ public class TsBeanModel extends TsDeclarationModel {
         return new TsBeanModel(origin, isClass, name, typeParameters, parent, taggedUnionClasses, interfaces, properties, constructor, methods, comments);
     }
 
+    @Override
+    public Set<Symbol> getReferencedSymbols() {
+        final Set<Symbol> symbols = super.getReferencedSymbols();
+        addReferencedSymbols(symbols, parent);
+        addReferencedSymbols(symbols, interfaces);
+        for (TsPropertyModel property : properties) {
+            addReferencedSymbols(symbols, property.getTsType());
+        }
+        if (constructor != null) {
+            addReferencedSymbols(symbols, constructor);
+        }
+        for (TsMethodModel method : methods) {
+            addReferencedSymbols(symbols, method);
+        }
+        return symbols;
+    }
+
 }
@@ -1,6 +1,8 @@
 
 package cz.habarta.typescript.generator.emitter;
 
+import cz.habarta.typescript.generator.TsProperty;
+import cz.habarta.typescript.generator.TsType;
 import cz.habarta.typescript.generator.compiler.Symbol;
 import java.util.*;
 
@@ -33,6 +35,57 @@ public class TsDeclarationModel implements Comparable<TsDeclarationModel> {
         return comments;
     }
 
+    /**
+     * Returns symbols referenced from types used in this declaration (not including its own name).
+     */
+    public Set<Symbol> getReferencedSymbols() {
+        return new LinkedHashSet<>();
+    }
+
+    protected static void addReferencedSymbols(Set<Symbol> symbols, TsCallableModel callable) {
+        addReferencedSymbols(symbols, callable.getReturnType());
+        for (TsParameterModel parameter : callable.getParameters()) {
+            addReferencedSymbols(symbols, parameter.getTsType());
+        }
+    }
+
+    protected static void addReferencedSymbols(Set<Symbol> symbols, List<? extends TsType> types) {
+        if (types != null) {
+            for (TsType type : types) {
+                addReferencedSymbols(symbols, type);
+            }
+        }
+    }
+
+    protected static void addReferencedSymbols(Set<Symbol> symbols, TsType type) {
+        if (type instanceof TsType.ReferenceType) {
+            symbols.add(((TsType.ReferenceType) type).symbol);
+        }
+        if (type instanceof TsType.GenericReferenceType) {
+            addReferencedSymbols(symbols, ((TsType.GenericReferenceType) type).typeArguments);
+        }
+        if (type instanceof TsType.BasicArrayType) {
+            addReferencedSymbols(symbols, ((TsType.BasicArrayType) type).elementType);
+        }
+        if (type instanceof TsType.IndexedArrayType) {
+            addReferencedSymbols(symbols, ((TsType.IndexedArrayType) type).indexType);
+            addReferencedSymbols(symbols, ((TsType.IndexedArrayType) type).elementType);
+        }
+        if (type instanceof TsType.UnionType) {
+            addReferencedSymbols(symbols, ((TsType.UnionType) type).types);
+        }
+        if (type instanceof TsType.OptionalType) {
+            addReferencedSymbols(symbols, ((TsType.OptionalType) type).type);
+        }
+        if (type instanceof TsType.ObjectType) {
+            for (TsProperty property : ((TsType.ObjectType) type).properties) {
+                if (property != null) {
+                    addReferencedSymbols(symbols, property.tsType);
+                }
+            }
+        }
+    }
+
     @Override
     public int compareTo(TsDeclarationModel o) {
         return name.toString().compareTo(o.name.toString());
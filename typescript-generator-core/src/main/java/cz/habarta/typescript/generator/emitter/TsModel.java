@@ -7,21 +7,31 @@ import java.util.*;
 
 public class TsModel {
 
-    private final List<TsBeanModel> beans;
+    private final OriginIndexedList<TsBeanModel> beans;
     private final List<TsEnumModel<?>> enums;
-    private final List<TsAliasModel> typeAliases;
+    private final OriginIndexedList<TsAliasModel> typeAliases;
 
     public TsModel() {
         this (new ArrayList<TsBeanModel>(), new ArrayList<TsEnumModel<?>>(), new ArrayList<TsAliasModel>());
     }
 
+    /**
+     * Lists of beans and type aliases are wrapped and should be modified only using lists returned by this model,
+     * otherwise lookups by origin class can return stale results.
+     */
     public TsModel(List<TsBeanModel> beans, List<TsEnumModel<?>> enums, List<TsAliasModel> typeAliases) {
         if (beans == null) throw new NullPointerException();
         if (enums == null) throw new NullPointerException();
         if (typeAliases == null) throw new NullPointerException();
-        this.beans = beans;
+        this.beans = OriginIndexedList.of(beans);
         this.enums = enums;
-        this.typeAliases = typeAliases;
+        this.typeAliases = OriginIndexedList.of(typeAliases);
+    }
+
+    private TsModel(TsModel original, List<TsEnumModel<?>> enums) {
+        this.beans = original.beans;
+        this.enums = enums;
+        this.typeAliases = original.typeAliases;
     }
 
     public List<TsBeanModel> getBeans() {
@@ -29,14 +39,7 @@ public class TsModel {
     }
 
     public TsBeanModel getBean(Class<?> origin) {
-        if (origin != null) {
-            for (TsBeanModel bean : beans) {
-                if (Objects.equals(bean.getOrigin(), origin)) {
-                    return bean;
-                }
-            }
-        }
-        return null;
+        return beans.getByOrigin(origin);
     }
 
     public TsModel setBeans(List<TsBeanModel> beans) {
@@ -59,7 +62,7 @@ public class TsModel {
     }
 
     public TsModel setEnums(List<TsEnumModel<?>> enums) {
-        return new TsModel(beans, enums, typeAliases);
+        return new TsModel(this, enums);
     }
 
     public List<TsAliasModel> getTypeAliases() {
@@ -67,18 +70,76 @@ public class TsModel {
     }
 
     public TsAliasModel getTypeAlias(Class<?> origin) {
-        if (origin != null) {
-            for (TsAliasModel alias : typeAliases) {
-                if (Objects.equals(alias.getOrigin(), origin)) {
-                    return alias;
-                }
-            }
-        }
-        return null;
+        return typeAliases.getByOrigin(origin);
     }
 
     public TsModel setTypeAliases(List<TsAliasModel> typeAliases) {
         return new TsModel(beans, enums, typeAliases);
     }
 
+    /**
+     * List of declarations which maps origin class to first declaration with that origin.
+     * Every modification made through this list (including modifications made by its iterators and sublists) invalidates the index,
+     * the index is rebuilt on next lookup. Models which share the list share the index too.
+     */
+    private static class OriginIndexedList<T extends TsDeclarationModel> extends AbstractList<T> implements RandomAccess {
+
+        private final List<T> declarations;
+        private Map<Class<?>, T> index;
+
+        private OriginIndexedList(List<T> declarations) {
+            this.declarations = declarations;
+        }
+
+        public static <T extends TsDeclarationModel> OriginIndexedList<T> of(List<T> declarations) {
+            return declarations instanceof OriginIndexedList ? (OriginIndexedList<T>) declarations : new OriginIndexedList<>(declarations);
+        }
+
+        @Override
+        public synchronized T get(int i) {
+            return declarations.get(i);
+        }
+
+        @Override
+        public synchronized int size() {
+            return declarations.size();
+        }
+
+        @Override
+        public synchronized T set(int i, T declaration) {
+            index = null;
+            return declarations.set(i, declaration);
+        }
+
+        @Override
+        public synchronized void add(int i, T declaration) {
+            index = null;
+            modCount++;
+            declarations.add(i, declaration);
+        }
+
+        @Override
+        public synchronized T remove(int i) {
+            index = null;
+            modCount++;
+            return declarations.remove(i);
+        }
+
+        public synchronized T getByOrigin(Class<?> origin) {
+            if (origin == null) {
+                return null;
+            }
+            if (index == null) {
+                index = new HashMap<>();
+                for (T declaration : declarations) {
+                    if (declaration.getOrigin() != null && !index.containsKey(declaration.getOrigin())) {
+                        index.put(declaration.getOrigin(), declaration);
+                    }
+                }
+            }
+            return index.get(origin);
+        }
+
+    }
+
 }
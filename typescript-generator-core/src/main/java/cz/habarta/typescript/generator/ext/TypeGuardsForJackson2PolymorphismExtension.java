@@ -4,6 +4,8 @@ package cz.habarta.typescript.generator.ext;
 import com.fasterxml.jackson.annotation.*;
 import cz.habarta.typescript.generator.Settings;
 import cz.habarta.typescript.generator.emitter.*;
+import cz.habarta.typescript.generator.util.AnnotationCache;
+import java.util.*;
 
 
 public class TypeGuardsForJackson2PolymorphismExtension extends EmitterExtension {
@@ -17,18 +19,20 @@ public class TypeGuardsForJackson2PolymorphismExtension extends EmitterExtension
 
     @Override
     public void emitElements(Writer writer, Settings settings, boolean exportKeyword, TsModel model) {
+        final Map<Class<?>, String> typeNames = getTypeNames(model);
         for (TsBeanModel tsBean : model.getBeans()) {
             final Class<?> beanClass = tsBean.getOrigin();
             if (beanClass != null) {
-                final JsonSubTypes jsonSubTypes = beanClass.getAnnotation(JsonSubTypes.class);
-                final JsonTypeInfo jsonTypeInfo = beanClass.getAnnotation(JsonTypeInfo.class);
+                // only classes declaring subtypes get type guards, their subclasses are covered by them
+                final JsonSubTypes jsonSubTypes = AnnotationCache.getAnnotation(beanClass, JsonSubTypes.class);
+                final JsonTypeInfo jsonTypeInfo = AnnotationCache.getAnnotation(beanClass, JsonTypeInfo.class);
                 if (jsonSubTypes != null && jsonTypeInfo != null && jsonTypeInfo.include() == JsonTypeInfo.As.PROPERTY) {
                     final String propertyName = jsonTypeInfo.property();
                     for (JsonSubTypes.Type subType : jsonSubTypes.value()) {
                         String propertyValue = null;
                         if (jsonTypeInfo.use() == JsonTypeInfo.Id.NAME) {
                             if (subType.name().equals("")) {
-                                final JsonTypeName jsonTypeName = subType.value().getAnnotation(JsonTypeName.class);
+                                final JsonTypeName jsonTypeName = AnnotationCache.getAnnotation(subType.value(), JsonTypeName.class);
                                 if (jsonTypeName != null) {
                                     propertyValue = jsonTypeName.value();
                                 }
@@ -38,7 +42,7 @@ public class TypeGuardsForJackson2PolymorphismExtension extends EmitterExtension
                         }
                         if (propertyValue != null) {
                             final String baseTypeName = tsBean.getName().toString();
-                            final String subTypeName = findTypeName(subType.value(), model);
+                            final String subTypeName = typeNames.get(subType.value());
                             if (baseTypeName != null && subTypeName != null) {
                                 writer.writeIndentedLine("");
                                 emitTypeGuard(writer, settings, exportKeyword, baseTypeName, subTypeName, propertyName, propertyValue);
@@ -50,13 +54,14 @@ public class TypeGuardsForJackson2PolymorphismExtension extends EmitterExtension
         }
     }
 
-    static String findTypeName(Class<?> beanClass, TsModel model) {
+    static Map<Class<?>, String> getTypeNames(TsModel model) {
+        final Map<Class<?>, String> typeNames = new HashMap<>();
         for (TsBeanModel bean : model.getBeans()) {
-            if (bean.getOrigin().equals(beanClass)) {
-                return bean.getName().toString();
+            if (!typeNames.containsKey(bean.getOrigin())) {
+                typeNames.put(bean.getOrigin(), bean.getName().toString());
             }
         }
-        return null;
+        return typeNames;
     }
 
 // Example:
@@ -0,0 +1,47 @@
+
+package cz.habarta.typescript.generator.parser;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.jaxb.JaxbAnnotationModule;
+import cz.habarta.typescript.generator.Settings;
+import cz.habarta.typescript.generator.TypeProcessor;
+import java.util.List;
+
+
+/**
+ * Jackson 2 parser which finds bean properties using cached class metadata instead of creating Jackson serializers.
+ * Produces the same model as {@link Jackson2Parser}, classes using Jackson features not supported by {@link Jackson2ClassMetadata}
+ * are processed using Jackson serializers.
+ * Jackson serializers are also used for all classes when mixins or Jackson modules (other than JAXB module) are used
+ * since they can change how properties are detected.
+ */
+public class FastJackson2Parser extends Jackson2Parser {
+
+    private final boolean useClassMetadata;
+
+    public FastJackson2Parser(Settings settings, TypeProcessor typeProcessor) {
+        super(settings, typeProcessor);
+        this.useClassMetadata = settings.mixins.isEmpty() && !hasUnknownModule(getModules());
+    }
+
+    private static boolean hasUnknownModule(List<Module> modules) {
+        for (Module module : modules) {
+            if (!(module instanceof JaxbAnnotationModule)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected List<BeanProperty> getBeanProperties(Class<?> beanClass) {
+        if (useClassMetadata && beanClass != null) {
+            final List<BeanProperty> properties = Jackson2ClassMetadata.of(beanClass).getProperties();
+            if (properties != null) {
+                return properties;
+            }
+        }
+        return super.getBeanProperties(beanClass);
+    }
+
+}
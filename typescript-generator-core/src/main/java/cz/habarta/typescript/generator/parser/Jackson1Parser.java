@@ -2,6 +2,7 @@
 package cz.habarta.typescript.generator.parser;
 
 import cz.habarta.typescript.generator.*;
+import cz.habarta.typescript.generator.util.AnnotationCache;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Member;
 import java.lang.reflect.Type;
@@ -69,14 +70,15 @@ public class Jackson1Parser extends ModelParser {
             }
         }
 
-        final JsonTypeInfo jsonTypeInfo = sourceClass.type.getAnnotation(JsonTypeInfo.class);
+        // discriminant property is declared only by annotated class, subclasses inherit it in TypeScript
+        final JsonTypeInfo jsonTypeInfo = AnnotationCache.getAnnotation(sourceClass.type, JsonTypeInfo.class);
         if (jsonTypeInfo != null && jsonTypeInfo.include() == JsonTypeInfo.As.PROPERTY) {
             if (!containsProperty(properties, jsonTypeInfo.property())) {
                 properties.add(new PropertyModel(jsonTypeInfo.property(), String.class, false, null, null, null));
             }
         }
 
-        final JsonSubTypes jsonSubTypes = sourceClass.type.getAnnotation(JsonSubTypes.class);
+        final JsonSubTypes jsonSubTypes = AnnotationCache.getAnnotation(sourceClass.type, JsonSubTypes.class);
         if (jsonSubTypes != null) {
             for (JsonSubTypes.Type type : jsonSubTypes.value()) {
                 addBeanToQueue(new SourceType<>(type.value(), sourceClass.type, "<subClass>"));
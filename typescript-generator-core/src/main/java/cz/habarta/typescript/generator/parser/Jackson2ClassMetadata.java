@@ -0,0 +1,863 @@
+
+package cz.habarta.typescript.generator.parser;
+
+import com.fasterxml.jackson.annotation.*;
+import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import cz.habarta.typescript.generator.util.AnnotationCache;
+import cz.habarta.typescript.generator.util.Utils;
+import java.io.File;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Class metadata used for finding bean properties the same way as Jackson 2 serialization does
+ * but without creating Jackson serializers.
+ * Default Jackson rules are followed: public fields and getters are detected, other members only when annotated,
+ * properties can be renamed using <code>@JsonProperty</code>, removed using <code>@JsonIgnore</code>,
+ * <code>@JsonIgnoreProperties</code> or <code>@JsonIgnoreType</code> and ordered using <code>@JsonPropertyOrder</code>.
+ * <p>
+ * Metadata are created once per class and cached, metadata of subclasses reuse metadata of their supertypes.
+ * When class uses Jackson feature which is not supported here (for example <code>@JsonValue</code>, <code>@JsonCreator</code>
+ * or JAXB annotations) its properties are not resolved and Jackson serializer needs to be used instead.
+ */
+class Jackson2ClassMetadata {
+
+    private static final ClassValue<Jackson2ClassMetadata> metadata = new ClassValue<Jackson2ClassMetadata>() {
+        @Override
+        protected Jackson2ClassMetadata computeValue(Class<?> type) {
+            return new Jackson2ClassMetadata(type);
+        }
+    };
+
+    private static final ClassValue<TypeIgnoral> typeIgnorals = new ClassValue<TypeIgnoral>() {
+        @Override
+        protected TypeIgnoral computeValue(Class<?> type) {
+            return findTypeIgnoral(type);
+        }
+    };
+
+    // types which Jackson serializes using other serializer than bean serializer
+    private static final List<Class<?>> nonBeanTypes = Arrays.<Class<?>>asList(
+            Collection.class, Map.class, Map.Entry.class, Iterable.class, Iterator.class, CharSequence.class,
+            Number.class, Date.class, Calendar.class, TimeZone.class, InetAddress.class, InetSocketAddress.class,
+            Charset.class, ByteBuffer.class, File.class, AtomicReference.class, Throwable.class,
+            JsonSerializable.class, TreeNode.class);
+
+    private static final Set<Class<? extends Annotation>> supportedClassAnnotations = new HashSet<>(Arrays.<Class<? extends Annotation>>asList(
+            JsonTypeInfo.class, JsonSubTypes.class, JsonTypeName.class, JsonPropertyOrder.class, JsonIgnoreProperties.class,
+            JsonIgnoreType.class, JsonInclude.class, JsonClassDescription.class, JsonRootName.class));
+
+    private static final Set<Class<? extends Annotation>> supportedMemberAnnotations = new HashSet<>(Arrays.<Class<? extends Annotation>>asList(
+            JsonProperty.class, JsonIgnore.class, JsonUnwrapped.class, JsonFormat.class, JsonInclude.class,
+            JsonPropertyDescription.class, JsonIgnoreProperties.class));
+
+    // annotations which make member explicitly included (as @JsonProperty without name)
+    private static final List<Class<? extends Annotation>> inclusionAnnotations = Arrays.<Class<? extends Annotation>>asList(
+            JsonFormat.class, JsonUnwrapped.class);
+
+    private final Class<?> cls;
+    // supertypes without Object in order in which Jackson merges their annotations
+    private final List<Class<?>> superTypes;
+    // non-static fields including inherited ones, superclass fields first
+    private final Map<String, Field> fields;
+    // methods declared in this class which can be property accessors
+    private final List<Method> declaredMethods;
+    // true if this class or its members use features not supported here
+    private final boolean unsupported;
+    private List<Jackson2Parser.BeanProperty> properties;
+    private boolean propertiesResolved;
+
+    private Jackson2ClassMetadata(Class<?> cls) {
+        this.cls = cls;
+        final Jackson2ClassMetadata superclassMetadata = cls.getSuperclass() != null && cls.getSuperclass() != Object.class
+                ? of(cls.getSuperclass())
+                : null;
+        this.superTypes = new ArrayList<>();
+        for (Class<?> aInterface : cls.getInterfaces()) {
+            addSuperType(superTypes, of(aInterface));
+        }
+        if (superclassMetadata != null) {
+            addSuperType(superTypes, superclassMetadata);
+        }
+        boolean unsupported = hasUnsupportedAnnotation(cls.getDeclaredAnnotations(), supportedClassAnnotations)
+                || cls.getPackage() != null && hasUnsupportedAnnotation(cls.getPackage().getDeclaredAnnotations(), Collections.<Class<? extends Annotation>>emptySet());
+        this.fields = new LinkedHashMap<>();
+        if (superclassMetadata != null) {
+            fields.putAll(superclassMetadata.fields);
+        }
+        for (Field field : cls.getDeclaredFields()) {
+            if (!field.isSynthetic() && !Modifier.isStatic(field.getModifiers())) {
+                fields.put(field.getName(), field);
+                unsupported = unsupported || hasUnsupportedAnnotation(field.getDeclaredAnnotations(), supportedMemberAnnotations);
+            }
+        }
+        this.declaredMethods = new ArrayList<>();
+        for (Method method : cls.getDeclaredMethods()) {
+            if (!method.isSynthetic() && !method.isBridge() && !Modifier.isStatic(method.getModifiers()) && method.getParameterTypes().length <= 2) {
+                declaredMethods.add(method);
+                unsupported = unsupported || hasUnsupportedAnnotation(method.getDeclaredAnnotations(), supportedMemberAnnotations)
+                        // Groovy and CGLIB specific properties
+                        || method.getName().equals("getMetaClass") || method.getName().equals("setMetaClass") || method.getName().equals("getCallbacks");
+            }
+        }
+        for (Class<?> superType : superTypes) {
+            unsupported = unsupported || of(superType).unsupported;
+        }
+        this.unsupported = unsupported;
+    }
+
+    public static Jackson2ClassMetadata of(Class<?> cls) {
+        return metadata.get(cls);
+    }
+
+    private static void addSuperType(List<Class<?>> superTypes, Jackson2ClassMetadata superTypeMetadata) {
+        if (!superTypes.contains(superTypeMetadata.cls)) {
+            superTypes.add(superTypeMetadata.cls);
+            for (Class<?> superType : superTypeMetadata.superTypes) {
+                if (!superTypes.contains(superType)) {
+                    superTypes.add(superType);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns properties in the order in which Jackson serializes them
+     * or <code>null</code> if properties of this class cannot be resolved without Jackson serializer.
+     */
+    public synchronized List<Jackson2Parser.BeanProperty> getProperties() {
+        if (!propertiesResolved) {
+            properties = isSerializedAsBean() ? resolveProperties() : null;
+            propertiesResolved = true;
+        }
+        return properties;
+    }
+
+    private boolean isSerializedAsBean() {
+        if (unsupported || cls.isPrimitive() || cls.isArray() || cls.isEnum() || cls.isAnnotation() || Proxy.isProxyClass(cls)) {
+            return false;
+        }
+        final String name = cls.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("com.fasterxml.jackson.")
+                || name.startsWith("net.sf.cglib.proxy.") || name.startsWith("org.hibernate.proxy.")) {
+            return false;
+        }
+        for (Class<?> nonBeanType : nonBeanTypes) {
+            if (nonBeanType.isAssignableFrom(cls)) {
+                return false;
+            }
+        }
+        for (Class<?> superType : superTypes) {
+            if (superType.getName().equals("org.w3c.dom.Node")) {
+                return false;
+            }
+        }
+        for (Constructor<?> constructor : cls.getDeclaredConstructors()) {
+            if (hasCreatorAnnotations(constructor.getDeclaredAnnotations(), constructor.getParameterAnnotations())) {
+                return false;
+            }
+        }
+        for (Method method : cls.getDeclaredMethods()) {
+            if (Modifier.isStatic(method.getModifiers()) && hasCreatorAnnotations(method.getDeclaredAnnotations(), method.getParameterAnnotations())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Jackson2Parser.BeanProperty> resolveProperties() {
+        // collect members (POJOPropertiesCollector)
+        final Map<String, PropertyBuilder> props = new LinkedHashMap<>();
+        for (Field field : fields.values()) {
+            addField(props, field);
+        }
+        for (MemberMethod memberMethod : getMemberMethods()) {
+            final int parametersCount = memberMethod.method.getParameterTypes().length;
+            if (parametersCount == 0) {
+                addGetter(props, memberMethod);
+            } else if (parametersCount == 1) {
+                addSetter(props, memberMethod);
+            }
+        }
+        removeUnwantedProperties(props);
+        for (PropertyBuilder prop : props.values()) {
+            prop.mergeAnnotations();
+            prop.removeNonVisible();
+        }
+        if (!renameProperties(props)) {
+            return null;
+        }
+        for (PropertyBuilder prop : props.values()) {
+            prop.trimByVisibility();
+        }
+        final List<PropertyBuilder> sortedProps = sortProperties(props);
+
+        // filter properties (BeanSerializerFactory)
+        final JsonIgnoreProperties jsonIgnoreProperties = getClassAnnotation(JsonIgnoreProperties.class);
+        final Set<String> ignoredNames = jsonIgnoreProperties != null && !jsonIgnoreProperties.allowGetters()
+                ? new HashSet<>(Arrays.asList(jsonIgnoreProperties.value()))
+                : Collections.<String>emptySet();
+        final List<Jackson2Parser.BeanProperty> result = new ArrayList<>();
+        for (PropertyBuilder prop : sortedProps) {
+            final Node accessor = prop.getAccessor();
+            if (accessor == Node.Conflict) {
+                return null;
+            }
+            if (accessor == null || ignoredNames.contains(prop.name)) {
+                continue;
+            }
+            final TypeIgnoral typeIgnoral = typeIgnorals.get(getRawType(accessor.member));
+            if (typeIgnoral == TypeIgnoral.Unsupported) {
+                return null;
+            }
+            if (typeIgnoral == TypeIgnoral.Ignored) {
+                continue;
+            }
+            result.add(new ResolvedProperty(prop.name, accessor.member, accessor.annotations));
+        }
+        // Jackson doesn't create bean serializer for beans without properties
+        return result.isEmpty() ? null : result;
+    }
+
+    /**
+     * Returns raw type of accessor, type variables declared by supertypes are resolved using type arguments from class hierarchy.
+     */
+    private Class<?> getRawType(Member member) {
+        final Type type = member instanceof Method ? ((Method) member).getGenericReturnType() : ((Field) member).getGenericType();
+        if (type instanceof TypeVariable) {
+            Type resolved = resolveTypeVariable(cls, (TypeVariable<?>) type);
+            if (resolved instanceof TypeVariable) {
+                resolved = ((TypeVariable<?>) resolved).getBounds()[0];
+            }
+            final Class<?> rawClass = Utils.getRawClassOrNull(resolved);
+            if (rawClass != null) {
+                return rawClass;
+            }
+        }
+        return member instanceof Method ? ((Method) member).getReturnType() : ((Field) member).getType();
+    }
+
+    private static Type resolveTypeVariable(Class<?> cls, TypeVariable<?> variable) {
+        final List<Type> genericSuperTypes = new ArrayList<>(Arrays.asList(cls.getGenericInterfaces()));
+        genericSuperTypes.add(cls.getGenericSuperclass());
+        for (Type genericSuperType : genericSuperTypes) {
+            final Class<?> rawSuperType = Utils.getRawClassOrNull(genericSuperType);
+            if (rawSuperType == null) {
+                continue;
+            }
+            final Type resolved = rawSuperType == variable.getGenericDeclaration()
+                    ? variable
+                    : resolveTypeVariable(rawSuperType, variable);
+            if (resolved instanceof TypeVariable && ((TypeVariable<?>) resolved).getGenericDeclaration() == rawSuperType) {
+                final int index = Arrays.asList(rawSuperType.getTypeParameters()).indexOf(resolved);
+                return genericSuperType instanceof ParameterizedType
+                        ? ((ParameterizedType) genericSuperType).getActualTypeArguments()[index]
+                        : null;
+            }
+            if (resolved != null) {
+                return resolved;
+            }
+        }
+        return null;
+    }
+
+    private Collection<MemberMethod> getMemberMethods() {
+        final Map<MethodKey, MemberMethod> methods = new LinkedHashMap<>();
+        addMemberMethods(methods, declaredMethods);
+        for (Class<?> superType : superTypes) {
+            addMemberMethods(methods, of(superType).declaredMethods);
+        }
+        return methods.values();
+    }
+
+    private static void addMemberMethods(Map<MethodKey, MemberMethod> methods, List<Method> declaredMethods) {
+        for (Method method : declaredMethods) {
+            final MethodKey key = new MethodKey(method);
+            final MemberMethod memberMethod = methods.get(key);
+            if (memberMethod == null) {
+                methods.put(key, new MemberMethod(method));
+            } else {
+                // overridden method inherits annotations
+                addAnnotations(memberMethod.annotations, method.getDeclaredAnnotations());
+                if (memberMethod.method.getDeclaringClass().isInterface() && !method.getDeclaringClass().isInterface()) {
+                    memberMethod.method = method;
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, PropertyBuilder> props, Field field) {
+        final Map<Class<? extends Annotation>, Annotation> annotations = addAnnotations(new LinkedHashMap<Class<? extends Annotation>, Annotation>(), field.getDeclaredAnnotations());
+        final String implName = field.getName();
+        final String name = findName(annotations);
+        final boolean hasName = name != null;
+        boolean visible = hasName || Modifier.isPublic(field.getModifiers());
+        if (Modifier.isTransient(field.getModifiers()) && !hasName) {
+            visible = false;
+        }
+        getProperty(props, implName).fields.add(0, new Node(field, annotations, name, implName, visible));
+    }
+
+    private static void addGetter(Map<String, PropertyBuilder> props, MemberMethod memberMethod) {
+        final Method method = memberMethod.method;
+        if (method.getReturnType() == void.class) {
+            return;
+        }
+        final String name = findName(memberMethod.annotations);
+        String implName;
+        final boolean visible;
+        if (name == null) {
+            implName = okNameForRegularGetter(method);
+            if (implName == null) {
+                implName = okNameForIsGetter(method);
+                if (implName == null) {
+                    return;
+                }
+            }
+            visible = Modifier.isPublic(method.getModifiers());
+        } else {
+            implName = okNameForRegularGetter(method);
+            if (implName == null) {
+                implName = okNameForIsGetter(method);
+            }
+            if (implName == null) {
+                implName = method.getName();
+            }
+            visible = true;
+        }
+        getProperty(props, implName).getters.add(0, new Node(method, memberMethod.annotations, name, implName, visible));
+    }
+
+    private static void addSetter(Map<String, PropertyBuilder> props, MemberMethod memberMethod) {
+        final Method method = memberMethod.method;
+        final String name = findName(memberMethod.annotations);
+        String implName = okNameForMutator(method, "set");
+        if (implName == null) {
+            if (name == null) {
+                return;
+            }
+            implName = method.getName();
+        }
+        // setters are visible regardless of access modifier
+        getProperty(props, implName).setters.add(0, new Node(method, memberMethod.annotations, name, implName, true));
+    }
+
+    private static PropertyBuilder getProperty(Map<String, PropertyBuilder> props, String implName) {
+        PropertyBuilder prop = props.get(implName);
+        if (prop == null) {
+            prop = new PropertyBuilder(implName);
+            props.put(implName, prop);
+        }
+        return prop;
+    }
+
+    private static void removeUnwantedProperties(Map<String, PropertyBuilder> props) {
+        for (Iterator<PropertyBuilder> iterator = props.values().iterator(); iterator.hasNext(); ) {
+            final PropertyBuilder prop = iterator.next();
+            if (!prop.anyVisible()) {
+                iterator.remove();
+                continue;
+            }
+            if (prop.anyIgnored()) {
+                if (!prop.isExplicitlyIncluded()) {
+                    iterator.remove();
+                    continue;
+                }
+                prop.removeIgnored();
+            }
+        }
+    }
+
+    /**
+     * Renamed properties are moved to the end (as Jackson does).
+     * @return <code>false</code> if some property has multiple different explicit names
+     */
+    private static boolean renameProperties(Map<String, PropertyBuilder> props) {
+        final List<PropertyBuilder> renamed = new ArrayList<>();
+        for (Iterator<PropertyBuilder> iterator = props.values().iterator(); iterator.hasNext(); ) {
+            final PropertyBuilder prop = iterator.next();
+            final Set<String> explicitNames = prop.findExplicitNames();
+            if (explicitNames.isEmpty()) {
+                continue;
+            }
+            if (explicitNames.size() > 1) {
+                return false;
+            }
+            iterator.remove();
+            prop.name = explicitNames.iterator().next();
+            renamed.add(prop);
+        }
+        for (PropertyBuilder prop : renamed) {
+            final PropertyBuilder existingProp = props.get(prop.name);
+            if (existingProp == null) {
+                props.put(prop.name, prop);
+            } else {
+                existingProp.addAll(prop);
+            }
+        }
+        return true;
+    }
+
+    private List<PropertyBuilder> sortProperties(Map<String, PropertyBuilder> props) {
+        final JsonPropertyOrder jsonPropertyOrder = getClassAnnotation(JsonPropertyOrder.class);
+        if (jsonPropertyOrder == null) {
+            return new ArrayList<>(props.values());
+        }
+        final Map<String, PropertyBuilder> all = jsonPropertyOrder.alphabetic()
+                ? new TreeMap<String, PropertyBuilder>()
+                : new LinkedHashMap<String, PropertyBuilder>();
+        for (PropertyBuilder prop : props.values()) {
+            all.put(prop.name, prop);
+        }
+        final Map<String, PropertyBuilder> ordered = new LinkedHashMap<>();
+        for (String name : jsonPropertyOrder.value()) {
+            PropertyBuilder prop = all.get(name);
+            if (prop == null) {
+                // implicit names can be used too
+                for (PropertyBuilder p : props.values()) {
+                    if (name.equals(p.internalName)) {
+                        prop = p;
+                        break;
+                    }
+                }
+            }
+            if (prop != null) {
+                ordered.put(prop.name, prop);
+            }
+        }
+        for (Map.Entry<String, PropertyBuilder> entry : all.entrySet()) {
+            if (!ordered.containsKey(entry.getKey())) {
+                ordered.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new ArrayList<>(ordered.values());
+    }
+
+    private <A extends Annotation> A getClassAnnotation(Class<A> annotationClass) {
+        // searched in the same order as Jackson merges class annotations
+        return AnnotationCache.getAnnotationRecursive(cls, annotationClass);
+    }
+
+    /**
+     * Returns name from annotation, empty string if member is annotated but name is not specified
+     * or <code>null</code> if member is not annotated.
+     */
+    private static String findName(Map<Class<? extends Annotation>, Annotation> annotations) {
+        final JsonProperty jsonProperty = (JsonProperty) annotations.get(JsonProperty.class);
+        if (jsonProperty != null) {
+            return jsonProperty.value();
+        }
+        for (Class<? extends Annotation> inclusionAnnotation : inclusionAnnotations) {
+            if (annotations.containsKey(inclusionAnnotation)) {
+                return "";
+            }
+        }
+        return null;
+    }
+
+    private static String okNameForRegularGetter(Method method) {
+        return method.getName().startsWith("get") ? manglePropertyName(method.getName(), 3) : null;
+    }
+
+    private static String okNameForIsGetter(Method method) {
+        final Class<?> returnType = method.getReturnType();
+        return method.getName().startsWith("is") && (returnType == Boolean.class || returnType == boolean.class)
+                ? manglePropertyName(method.getName(), 2)
+                : null;
+    }
+
+    private static String okNameForMutator(Method method, String prefix) {
+        return method.getName().startsWith(prefix) ? manglePropertyName(method.getName(), prefix.length()) : null;
+    }
+
+    /**
+     * Lowercases leading uppercase characters (Jackson legacy naming, for example "getURL" gives "url").
+     */
+    private static String manglePropertyName(String methodName, int offset) {
+        if (methodName.length() == offset) {
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder(methodName.length() - offset);
+        for (int i = offset; i < methodName.length(); i++) {
+            final char c = methodName.charAt(i);
+            final char lower = Character.toLowerCase(c);
+            if (c == lower) {
+                sb.append(methodName, i, methodName.length());
+                break;
+            }
+            sb.append(lower);
+        }
+        return sb.toString();
+    }
+
+    private static Map<Class<? extends Annotation>, Annotation> addAnnotations(Map<Class<? extends Annotation>, Annotation> annotations, Annotation[] newAnnotations) {
+        for (Annotation annotation : newAnnotations) {
+            if (!annotations.containsKey(annotation.annotationType())) {
+                annotations.put(annotation.annotationType(), annotation);
+            }
+        }
+        return annotations;
+    }
+
+    private static boolean isRelevantAnnotation(Annotation annotation) {
+        final String name = annotation.annotationType().getName();
+        return name.startsWith("com.fasterxml.jackson.")
+                || name.startsWith("javax.xml.bind.")
+                || name.startsWith("java.beans.")
+                || annotation.annotationType().isAnnotationPresent(JacksonAnnotationsInside.class);
+    }
+
+    private static boolean hasUnsupportedAnnotation(Annotation[] annotations, Set<Class<? extends Annotation>> supportedAnnotations) {
+        for (Annotation annotation : annotations) {
+            if (isRelevantAnnotation(annotation) && !supportedAnnotations.contains(annotation.annotationType())) {
+                return true;
+            }
+            if (annotation instanceof JsonProperty && ((JsonProperty) annotation).access() != JsonProperty.Access.AUTO) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCreatorAnnotations(Annotation[] annotations, Annotation[][] parameterAnnotations) {
+        final Set<Class<? extends Annotation>> none = Collections.emptySet();
+        if (hasUnsupportedAnnotation(annotations, none)) {
+            return true;
+        }
+        for (Annotation[] annotationsOfParameter : parameterAnnotations) {
+            if (hasUnsupportedAnnotation(annotationsOfParameter, none)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static TypeIgnoral findTypeIgnoral(Class<?> cls) {
+        if (cls == null || cls == Object.class) {
+            return TypeIgnoral.None;
+        }
+        for (Annotation annotation : cls.getDeclaredAnnotations()) {
+            if (annotation instanceof JsonIgnoreType) {
+                return ((JsonIgnoreType) annotation).value() ? TypeIgnoral.Ignored : TypeIgnoral.None;
+            }
+            if (annotation.annotationType().getName().startsWith("javax.xml.bind.")) {
+                return TypeIgnoral.Unsupported;
+            }
+        }
+        for (Class<?> aInterface : cls.getInterfaces()) {
+            final TypeIgnoral interfaceIgnoral = typeIgnorals.get(aInterface);
+            if (interfaceIgnoral != TypeIgnoral.None) {
+                return interfaceIgnoral;
+            }
+        }
+        return typeIgnorals.get(cls.getSuperclass() != null ? cls.getSuperclass() : Object.class);
+    }
+
+    private static enum TypeIgnoral {
+        None, Ignored, Unsupported
+    }
+
+    private static class MethodKey {
+
+        private final String name;
+        private final Class<?>[] parameterTypes;
+
+        public MethodKey(Method method) {
+            this.name = method.getName();
+            this.parameterTypes = method.getParameterTypes();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof MethodKey)) {
+                return false;
+            }
+            final MethodKey other = (MethodKey) obj;
+            return name.equals(other.name) && Arrays.equals(parameterTypes, other.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return name.hashCode() * 31 + parameterTypes.length;
+        }
+
+    }
+
+    private static class MemberMethod {
+
+        private Method method;
+        private final Map<Class<? extends Annotation>, Annotation> annotations;
+
+        public MemberMethod(Method method) {
+            this.method = method;
+            this.annotations = addAnnotations(new LinkedHashMap<Class<? extends Annotation>, Annotation>(), method.getDeclaredAnnotations());
+        }
+
+    }
+
+    /**
+     * Field, getter or setter of property.
+     */
+    private static class Node {
+
+        // marks property with conflicting accessors
+        public static final Node Conflict = new Node(null, null, null, null, false);
+
+        public final Member member;
+        public Map<Class<? extends Annotation>, Annotation> annotations;
+        // name from annotation (implicit name if annotation doesn't specify it) or null if member is not annotated
+        public final String name;
+        public final boolean nameExplicit;
+        public final boolean visible;
+        public final boolean ignored;
+
+        public Node(Member member, Map<Class<? extends Annotation>, Annotation> annotations, String annotationName, String implName, boolean visible) {
+            this.member = member;
+            this.annotations = annotations;
+            this.name = annotationName == null ? null : annotationName.isEmpty() ? implName : annotationName;
+            this.nameExplicit = annotationName != null && !annotationName.isEmpty();
+            this.visible = visible;
+            final JsonIgnore jsonIgnore = annotations != null ? (JsonIgnore) annotations.get(JsonIgnore.class) : null;
+            this.ignored = jsonIgnore != null && jsonIgnore.value();
+        }
+
+    }
+
+    private static class PropertyBuilder {
+
+        public final String internalName;
+        public String name;
+        // members are in the same order as in Jackson (last added first)
+        public List<Node> fields = new ArrayList<>();
+        public List<Node> getters = new ArrayList<>();
+        public List<Node> setters = new ArrayList<>();
+
+        public PropertyBuilder(String internalName) {
+            this.internalName = internalName;
+            this.name = internalName;
+        }
+
+        private List<List<Node>> all() {
+            return Arrays.asList(fields, getters, setters);
+        }
+
+        public boolean anyVisible() {
+            for (List<Node> nodes : all()) {
+                for (Node node : nodes) {
+                    if (node.visible) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        public boolean anyIgnored() {
+            for (List<Node> nodes : all()) {
+                for (Node node : nodes) {
+                    if (node.ignored) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        public boolean isExplicitlyIncluded() {
+            for (List<Node> nodes : all()) {
+                for (Node node : nodes) {
+                    if (node.name != null) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        public void removeIgnored() {
+            for (List<Node> nodes : all()) {
+                for (Iterator<Node> iterator = nodes.iterator(); iterator.hasNext(); ) {
+                    if (iterator.next().ignored) {
+                        iterator.remove();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Accessor gets annotations of all members of the property, getters have precedence over fields and fields over setters.
+         */
+        public void mergeAnnotations() {
+            final List<Node> accessors = !getters.isEmpty() ? getters : fields;
+            final Map<Class<? extends Annotation>, Annotation> merged = new LinkedHashMap<>();
+            for (List<Node> nodes : Arrays.asList(accessors, fields, setters)) {
+                for (Node node : nodes) {
+                    for (Annotation annotation : node.annotations.values()) {
+                        if (!merged.containsKey(annotation.annotationType())) {
+                            merged.put(annotation.annotationType(), annotation);
+                        }
+                    }
+                }
+            }
+            for (Node node : accessors) {
+                node.annotations = merged;
+            }
+        }
+
+        public void removeNonVisible() {
+            getters = visibleOnly(getters);
+            if (getters.isEmpty()) {
+                fields = visibleOnly(fields);
+                setters = visibleOnly(setters);
+            }
+        }
+
+        private static List<Node> visibleOnly(List<Node> nodes) {
+            final List<Node> result = new ArrayList<>();
+            for (Node node : nodes) {
+                if (node.visible) {
+                    result.add(node);
+                }
+            }
+            return result;
+        }
+
+        public Set<String> findExplicitNames() {
+            final Set<String> names = new LinkedHashSet<>();
+            for (List<Node> nodes : all()) {
+                for (Node node : nodes) {
+                    if (node.nameExplicit) {
+                        names.add(node.name);
+                    }
+                }
+            }
+            return names;
+        }
+
+        public void addAll(PropertyBuilder other) {
+            fields.addAll(other.fields);
+            getters.addAll(other.getters);
+            setters.addAll(other.setters);
+        }
+
+        public void trimByVisibility() {
+            fields = trimByVisibility(fields);
+            getters = trimByVisibility(getters);
+            setters = trimByVisibility(setters);
+        }
+
+        /**
+         * Prefers annotated members over not annotated ones and visible members over not visible ones.
+         */
+        private static List<Node> trimByVisibility(List<Node> nodes) {
+            if (nodes.size() <= 1) {
+                return nodes;
+            }
+            final Node first = nodes.get(0);
+            final List<Node> next = trimByVisibility(nodes.subList(1, nodes.size()));
+            final Node second = next.get(0);
+            final List<Node> result = new ArrayList<>();
+            if (first.name != null) {
+                result.add(first);
+                if (second.name != null) {
+                    result.addAll(next);
+                }
+                return result;
+            }
+            if (second.name != null) {
+                return next;
+            }
+            if (first.visible == second.visible) {
+                result.add(first);
+                result.addAll(next);
+                return result;
+            }
+            return first.visible ? Collections.singletonList(first) : next;
+        }
+
+        public Node getAccessor() {
+            return !getters.isEmpty() ? selectMember(getters, true) : !fields.isEmpty() ? selectMember(fields, false) : null;
+        }
+
+        /**
+         * Selects member declared in the most specific class, for getters regular getter is preferred over "is" getter.
+         */
+        private static Node selectMember(List<Node> nodes, boolean getters) {
+            Node current = nodes.get(0);
+            for (Node next : nodes.subList(1, nodes.size())) {
+                final Class<?> currentClass = current.member.getDeclaringClass();
+                final Class<?> nextClass = next.member.getDeclaringClass();
+                if (currentClass != nextClass) {
+                    if (currentClass.isAssignableFrom(nextClass)) {
+                        current = next;
+                        continue;
+                    }
+                    if (nextClass.isAssignableFrom(currentClass)) {
+                        continue;
+                    }
+                }
+                if (getters) {
+                    final int currentPriority = getterPriority(current.member.getName());
+                    final int nextPriority = getterPriority(next.member.getName());
+                    if (currentPriority != nextPriority) {
+                        if (nextPriority < currentPriority) {
+                            current = next;
+                        }
+                        continue;
+                    }
+                }
+                return Node.Conflict;
+            }
+            return current;
+        }
+
+        private static int getterPriority(String methodName) {
+            if (methodName.startsWith("get") && methodName.length() > 3) {
+                return 1;
+            }
+            if (methodName.startsWith("is") && methodName.length() > 2) {
+                return 2;
+            }
+            return 3;
+        }
+
+    }
+
+    private static class ResolvedProperty extends Jackson2Parser.BeanProperty {
+
+        private final String name;
+        private final Member member;
+        private final Map<Class<? extends Annotation>, Annotation> annotations;
+
+        public ResolvedProperty(String name, Member member, Map<Class<? extends Annotation>, Annotation> annotations) {
+            this.name = name;
+            this.member = member;
+            this.annotations = annotations;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Member getMember() {
+            return member;
+        }
+
+        @Override
+        public <A extends Annotation> A getAnnotation(Class<A> annotationClass) {
+            return annotationClass.cast(annotations.get(annotationClass));
+        }
+
+    }
+
+}
@@ -13,9 +13,15 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -29,6 +35,7 @@ import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
 import com.fasterxml.jackson.databind.ser.BeanSerializer;
@@ -40,11 +47,24 @@ import cz.habarta.typescript.generator.Settings;
 import cz.habarta.typescript.generator.TypeProcessor;
 import cz.habarta.typescript.generator.compiler.EnumKind;
 import cz.habarta.typescript.generator.compiler.EnumMemberModel;
+import cz.habarta.typescript.generator.compiler.SymbolTable;
+import cz.habarta.typescript.generator.util.AnnotationCache;
 import cz.habarta.typescript.generator.util.Predicate;
 
 public class Jackson2Parser extends ModelParser {
 
 	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<Module> modules = new ArrayList<>();
+	// introspected bean properties shared by all parsings of this parser,
+	// ClassValue doesn't prevent unloading of classes and number of cached classes is limited
+	private static final int MaxCachedBeanHelpers = 10000;
+	private final AtomicInteger cachedBeanHelpersCount = new AtomicInteger();
+	private final ClassValue<CachedBeanHelper> beanHelpers = new ClassValue<CachedBeanHelper>() {
+		@Override
+		protected CachedBeanHelper computeValue(Class<?> type) {
+			return cachedBeanHelpersCount.incrementAndGet() <= MaxCachedBeanHelpers ? new CachedBeanHelper() : CachedBeanHelper.NotCached;
+		}
+	};
 
 	public Jackson2Parser(Settings settings, TypeProcessor typeProcessor) {
 		this(settings, typeProcessor, false);
@@ -60,7 +80,8 @@ public class Jackson2Parser extends ModelParser {
 			}
 		}
 		if (!settings.disableJackson2ModuleDiscovery) {
-			objectMapper.registerModules(ObjectMapper.findModules(settings.classLoader));
+			modules.addAll(ObjectMapper.findModules(settings.classLoader));
+			objectMapper.registerModules(modules);
 		}
 		if (useJaxbAnnotations) {
 			AnnotationIntrospector introspector = new JaxbAnnotationIntrospector(objectMapper.getTypeFactory());
@@ -68,14 +89,46 @@ public class Jackson2Parser extends ModelParser {
 		}
 	}
 
+	/**
+	 * State used during one parsing, it is released together with parsing context
+	 * so shared parser doesn't retain serializer providers between generations.
+	 */
+	private static class Jackson2ParsingContext extends ParsingContext {
+
+		// serializer provider is not thread-safe so parsing threads take instances from this pool and return them after use
+		private final Queue<DefaultSerializerProvider> serializerProviders = new ConcurrentLinkedQueue<>();
+		private final Map<JsonSubTypes, Map<Class<?>, JsonSubTypes.Type>> jsonSubTypesIndex = new IdentityHashMap<>();
+
+		public Jackson2ParsingContext(SymbolTable symbolTable) {
+			super(symbolTable);
+		}
+
+	}
+
+	@Override
+	protected ParsingContext createParsingContext(SymbolTable symbolTable) {
+		return new Jackson2ParsingContext(symbolTable);
+	}
+
+	private Jackson2ParsingContext getJackson2ParsingContext() {
+		return (Jackson2ParsingContext) getParsingContext();
+	}
+
+	/**
+	 * Returns Jackson modules registered by module discovery.
+	 */
+	protected List<Module> getModules() {
+		return modules;
+	}
+
 	@Override
 	protected BeanModel parseBean(SourceType<Class<?>> sourceClass) {
 		final List<PropertyModel> properties = new ArrayList<>();
 
-		final BeanHelper beanHelper = getBeanHelper(sourceClass.type);
-		if (beanHelper != null) {
-			for (BeanPropertyWriter beanPropertyWriter : beanHelper.getProperties()) {
-				final Member propertyMember = beanPropertyWriter.getMember().getMember();
+		final List<BeanProperty> beanProperties = getBeanProperties(sourceClass.type);
+		if (beanProperties != null) {
+			for (BeanProperty beanProperty : beanProperties) {
+				final Member propertyMember = beanProperty.getMember();
 				Type propertyType = getGenericType(propertyMember);
 				if (propertyType == JsonNode.class) {
 					propertyType = Object.class;
@@ -83,27 +136,27 @@ public class Jackson2Parser extends ModelParser {
 				boolean isInAnnotationFilter = settings.includePropertyAnnotations.isEmpty();
 				if (!isInAnnotationFilter) {
 					for (Class<? extends Annotation> optionalAnnotation : settings.includePropertyAnnotations) {
-						if (beanPropertyWriter.getAnnotation(optionalAnnotation) != null) {
+						if (beanProperty.getAnnotation(optionalAnnotation) != null) {
 							isInAnnotationFilter = true;
 							break;
 						}
 					}
 					if (!isInAnnotationFilter) {
-						System.out.println("Skipping " + sourceClass.type + "." + beanPropertyWriter.getName()
+						System.out.println("Skipping " + sourceClass.type + "." + beanProperty.getName()
 								+ " because it is missing an annotation from includePropertyAnnotations!");
 						continue;
 					}
 				}
 				boolean optional = false;
 				for (Class<? extends Annotation> optionalAnnotation : settings.optionalAnnotations) {
-					if (beanPropertyWriter.getAnnotation(optionalAnnotation) != null) {
+					if (beanProperty.getAnnotation(optionalAnnotation) != null) {
 						optional = true;
 						break;
 					}
 				}
 				// @JsonUnwrapped
 				PropertyModel.PullProperties pullProperties = null;
-				final Member originalMember = beanPropertyWriter.getMember().getMember();
+				final Member originalMember = beanProperty.getMember();
 				if (originalMember instanceof AccessibleObject) {
 					final AccessibleObject accessibleObject = (AccessibleObject) originalMember;
 					final JsonUnwrapped annotation = accessibleObject.getAnnotation(JsonUnwrapped.class);
@@ -111,7 +164,7 @@ public class Jackson2Parser extends ModelParser {
 						pullProperties = new PropertyModel.PullProperties(annotation.prefix(), annotation.suffix());
 					}
 				}
-				properties.add(processTypeAndCreateProperty(beanPropertyWriter.getName(), propertyType, optional,
+				properties.add(processTypeAndCreateProperty(beanProperty.getName(), propertyType, optional,
 						sourceClass.type, originalMember, pullProperties));
 			}
 		}
@@ -126,7 +179,7 @@ public class Jackson2Parser extends ModelParser {
 			discriminantProperty = getDiscriminantPropertyName(jsonTypeInfo);
 			discriminantLiteral = null;
 		} else if (!sourceClass.type.isInterface() && !Modifier.isAbstract(sourceClass.type.getModifiers())
-				&& isSupported(parentJsonTypeInfo = getAnnotationRecursive(sourceClass.type, JsonTypeInfo.class))) {
+				&& isSupported(parentJsonTypeInfo = AnnotationCache.getAnnotationRecursive(sourceClass.type, JsonTypeInfo.class))) {
 			// this is child class
 			discriminantProperty = getDiscriminantPropertyName(parentJsonTypeInfo);
 			discriminantLiteral = getTypeName(sourceClass.type);
@@ -182,12 +235,12 @@ public class Jackson2Parser extends ModelParser {
 
 	private String getTypeName(final Class<?> cls) {
 		// find @JsonTypeName recursively
-		final JsonTypeName jsonTypeName = getAnnotationRecursive(cls, JsonTypeName.class);
+		final JsonTypeName jsonTypeName = AnnotationCache.getAnnotationRecursive(cls, JsonTypeName.class);
 		if (jsonTypeName != null) {
 			return jsonTypeName.value();
 		}
 		// find @JsonSubTypes.Type recursively
-		final JsonSubTypes jsonSubTypes = getAnnotationRecursive(cls, JsonSubTypes.class,
+		final JsonSubTypes jsonSubTypes = AnnotationCache.getAnnotationRecursive(cls, JsonSubTypes.class,
 				new Predicate<JsonSubTypes>() {
 					@Override
 					public boolean test(JsonSubTypes types) {
@@ -204,53 +257,124 @@ public class Jackson2Parser extends ModelParser {
 		return cls.getName().substring(cls.getName().lastIndexOf(".") + 1);
 	}
 
-	private static JsonSubTypes.Type getJsonSubTypeForClass(JsonSubTypes types, Class<?> cls) {
-		for (JsonSubTypes.Type type : types.value()) {
-			if (type.value().equals(cls)) {
-				return type;
+	private JsonSubTypes.Type getJsonSubTypeForClass(JsonSubTypes types, Class<?> cls) {
+		// index subtypes of each @JsonSubTypes annotation (instances are cached by JDK) so large hierarchies are not scanned for each subtype
+		final Map<JsonSubTypes, Map<Class<?>, JsonSubTypes.Type>> jsonSubTypesIndex = getJackson2ParsingContext().jsonSubTypesIndex;
+		Map<Class<?>, JsonSubTypes.Type> subTypesByClass;
+		synchronized (jsonSubTypesIndex) {
+			subTypesByClass = jsonSubTypesIndex.get(types);
+			if (subTypesByClass == null) {
+				subTypesByClass = new HashMap<>();
+				for (JsonSubTypes.Type type : types.value()) {
+					if (!subTypesByClass.containsKey(type.value())) {
+						subTypesByClass.put(type.value(), type);
+					}
+				}
+				jsonSubTypesIndex.put(types, subTypesByClass);
 			}
 		}
-		return null;
+		return subTypesByClass.get(cls);
 	}
 
-	private static <T extends Annotation> T getAnnotationRecursive(Class<?> cls, Class<T> annotationClass) {
-		return getAnnotationRecursive(cls, annotationClass, null);
+	/**
+	 * Returns properties of specified class in the order in which they are serialized
+	 * or <code>null</code> if class is not serialized as bean.
+	 */
+	protected List<BeanProperty> getBeanProperties(Class<?> beanClass) {
+		final BeanHelper beanHelper = getBeanHelper(beanClass);
+		if (beanHelper == null) {
+			return null;
+		}
+		final List<BeanProperty> beanProperties = new ArrayList<>();
+		for (BeanPropertyWriter beanPropertyWriter : beanHelper.getProperties()) {
+			beanProperties.add(new BeanPropertyWriterProperty(beanPropertyWriter));
+		}
+		return beanProperties;
 	}
 
-	private static <T extends Annotation> T getAnnotationRecursive(Class<?> cls, Class<T> annotationClass,
-			Predicate<T> annotationFilter) {
-		if (cls == null) {
-			return null;
+	/**
+	 * Bean property as seen by Jackson serialization.
+	 */
+	protected static abstract class BeanProperty {
+
+		public abstract String getName();
+
+		/**
+		 * Field or getter used for serializing property value.
+		 */
+		public abstract Member getMember();
+
+		/**
+		 * Returns annotation of property accessor including annotations merged from related members (field, setter).
+		 */
+		public abstract <A extends Annotation> A getAnnotation(Class<A> annotationClass);
+
+	}
+
+	private static class BeanPropertyWriterProperty extends BeanProperty {
+
+		private final BeanPropertyWriter beanPropertyWriter;
+
+		public BeanPropertyWriterProperty(BeanPropertyWriter beanPropertyWriter) {
+			this.beanPropertyWriter = beanPropertyWriter;
 		}
-		final T annotation = cls.getAnnotation(annotationClass);
-		if (annotation != null && (annotationFilter == null || annotationFilter.test(annotation))) {
-			return annotation;
+
+		@Override
+		public String getName() {
+			return beanPropertyWriter.getName();
 		}
-		for (Class<?> aInterface : cls.getInterfaces()) {
-			final T interfaceAnnotation = getAnnotationRecursive(aInterface, annotationClass, annotationFilter);
-			if (interfaceAnnotation != null) {
-				return interfaceAnnotation;
-			}
+
+		@Override
+		public Member getMember() {
+			return beanPropertyWriter.getMember().getMember();
 		}
-		final T superclassAnnotation = getAnnotationRecursive(cls.getSuperclass(), annotationClass, annotationFilter);
-		if (superclassAnnotation != null) {
-			return superclassAnnotation;
+
+		@Override
+		public <A extends Annotation> A getAnnotation(Class<A> annotationClass) {
+			return beanPropertyWriter.getAnnotation(annotationClass);
 		}
-		return null;
+
 	}
 
 	private BeanHelper getBeanHelper(Class<?> beanClass) {
 		if (beanClass == null) {
 			return null;
 		}
+		final CachedBeanHelper cachedBeanHelper = beanHelpers.get(beanClass);
+		if (cachedBeanHelper.created) {
+			return cachedBeanHelper.beanHelper;
+		}
+		final BeanHelper beanHelper = createBeanHelper(getJackson2ParsingContext(), beanClass, objectMapper.constructType(beanClass));
+		if (cachedBeanHelper != CachedBeanHelper.NotCached) {
+			cachedBeanHelper.beanHelper = beanHelper;
+			cachedBeanHelper.created = true;
+		}
+		return beanHelper;
+	}
+
+	/**
+	 * Introspected bean properties of one class (or null if class is not serialized as bean).
+	 */
+	private static class CachedBeanHelper {
+
+		// returned for classes over the limit, it is never filled
+		public static final CachedBeanHelper NotCached = new CachedBeanHelper();
+
+		private volatile BeanHelper beanHelper;
+		// written after beanHelper so reader which sees it set also sees the helper
+		private volatile boolean created;
+
+	}
+
+	private BeanHelper createBeanHelper(Jackson2ParsingContext context, Class<?> beanClass, JavaType simpleType) {
+		DefaultSerializerProvider serializerProvider = context.serializerProviders.poll();
+		if (serializerProvider == null) {
+			final DefaultSerializerProvider.Impl provider = (DefaultSerializerProvider.Impl) objectMapper.getSerializerProvider();
+			serializerProvider = provider.createInstance(objectMapper.getSerializationConfig(), objectMapper.getSerializerFactory());
+		}
 		try {
-			final DefaultSerializerProvider.Impl serializerProvider1 = (DefaultSerializerProvider.Impl) objectMapper
-					.getSerializerProvider();
-			final DefaultSerializerProvider.Impl serializerProvider2 = serializerProvider1
-					.createInstance(objectMapper.getSerializationConfig(), objectMapper.getSerializerFactory());
-			final JavaType simpleType = objectMapper.constructType(beanClass);
 			final JsonSerializer<?> jsonSerializer = BeanSerializerFactory.instance
-					.createSerializer(serializerProvider2, simpleType);
+					.createSerializer(serializerProvider, simpleType);
 			if (jsonSerializer == null) {
 				return null;
 			}
@@ -266,6 +390,8 @@ public class Jackson2Parser extends ModelParser {
 			}
 		} catch (JsonMappingException e) {
 			throw new RuntimeException(e);
+		} finally {
+			context.serializerProviders.add(serializerProvider);
 		}
 	}
 
@@ -8,58 +8,204 @@ import cz.habarta.typescript.generator.xmldoclet.EnumConstant;
 import cz.habarta.typescript.generator.xmldoclet.Field;
 import cz.habarta.typescript.generator.xmldoclet.Interface;
 import cz.habarta.typescript.generator.xmldoclet.Method;
-import cz.habarta.typescript.generator.xmldoclet.Package;
-import cz.habarta.typescript.generator.xmldoclet.Root;
 import cz.habarta.typescript.generator.xmldoclet.TagInfo;
-import java.io.File;
+import java.io.*;
 import java.util.*;
-import javax.xml.bind.JAXB;
+import java.util.concurrent.*;
+import javax.xml.bind.*;
+import javax.xml.stream.*;
 
 
+/**
+ * Adds Javadoc comments from xml-doclet files to the model.
+ * Files are read using streaming parser and only classes, interfaces and enums present in the model are materialized,
+ * other elements are skipped without building object tree.
+ * Materialized elements are only kept during one enrichment so long-lived parser doesn't accumulate them.
+ */
 public class Javadoc {
 
-    private final List<Root> dRoots;
+    private static JAXBContext jaxbContext;
+
+    private final List<File> javadocXmlFiles;
+    private final Set<File> reportedFiles = Collections.newSetFromMap(new ConcurrentHashMap<File, Boolean>());
 
     public Javadoc(List<File> javadocXmlFiles) {
-        this.dRoots = loadJavadocXmlFiles(javadocXmlFiles);
+        this.javadocXmlFiles = javadocXmlFiles != null ? javadocXmlFiles : Collections.<File>emptyList();
     }
 
-    private static List<Root> loadJavadocXmlFiles(List<File> javadocXmlFiles) {
-        final List<Root> dRoots = new ArrayList<>();
-        if (javadocXmlFiles != null) {
-            for (File file : javadocXmlFiles) {
+    /**
+     * Returns map from qualified name to Class, Interface or Enum element for types present in the model.
+     */
+    private Map<String, Object> loadJavadocTypes(Model model) {
+        final Set<String> names = new LinkedHashSet<>();
+        for (BeanModel bean : model.getBeans()) {
+            names.add(getQualifiedName(bean.getOrigin()));
+        }
+        for (EnumModel<?> enumModel : model.getEnums()) {
+            names.add(getQualifiedName(enumModel.getOrigin()));
+        }
+        final Map<String, Object> dTypes = new HashMap<>();
+        if (names.isEmpty() || javadocXmlFiles.isEmpty()) {
+            return dTypes;
+        }
+        for (File file : javadocXmlFiles) {
+            if (reportedFiles.add(file)) {
                 System.out.println("Loading Javadoc XML file: " + file);
-                final Root dRoot = JAXB.unmarshal(file, Root.class);
-                dRoots.add(dRoot);
             }
         }
-        return dRoots;
+        for (Map<String, Object> fileTypes : loadJavadocXmlFiles(javadocXmlFiles, names)) {
+            for (Map.Entry<String, Object> entry : fileTypes.entrySet()) {
+                // first file wins
+                if (!dTypes.containsKey(entry.getKey())) {
+                    dTypes.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        return dTypes;
+    }
+
+    /**
+     * Reads files (in parallel if there are more of them), returns materialized types for each file in the same order as files.
+     */
+    private static List<Map<String, Object>> loadJavadocXmlFiles(List<File> javadocXmlFiles, Set<String> names) {
+        final List<Callable<Map<String, Object>>> tasks = new ArrayList<>();
+        for (File file : javadocXmlFiles) {
+            tasks.add(new JavadocXmlFileReader(file, names));
+        }
+        if (tasks.size() == 1) {
+            try {
+                return Collections.singletonList(tasks.get(0).call());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(tasks.size(), Runtime.getRuntime().availableProcessors()));
+        try {
+            final List<Map<String, Object>> result = new ArrayList<>();
+            for (Future<Map<String, Object>> future : executor.invokeAll(tasks)) {
+                result.add(future.get());
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static class JavadocXmlFileReader implements Callable<Map<String, Object>> {
+
+        private final File file;
+        private final Set<String> names;
+
+        public JavadocXmlFileReader(File file, Set<String> names) {
+            this.file = file;
+            this.names = names;
+        }
+
+        @Override
+        public Map<String, Object> call() throws Exception {
+            final Map<String, Object> dTypes = new LinkedHashMap<>();
+            final Unmarshaller unmarshaller = getJaxbContext().createUnmarshaller();
+            final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+            inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            try (InputStream inputStream = new BufferedInputStream(new FileInputStream(file))) {
+                final XMLStreamReader reader = inputFactory.createXMLStreamReader(inputStream);
+                try {
+                    // structure: root > package > (class | interface | enum | ...)
+                    while (reader.hasNext()) {
+                        if (reader.getEventType() == XMLStreamConstants.START_ELEMENT) {
+                            final String element = reader.getLocalName();
+                            if (element.equals("root") || element.equals("package")) {
+                                reader.next();
+                                continue;
+                            }
+                            final java.lang.Class<?> type = getElementType(element);
+                            final String qualified = reader.getAttributeValue(null, "qualified");
+                            if (type != null && qualified != null && names.contains(qualified) && !dTypes.containsKey(qualified)) {
+                                // unmarshaller moves reader after the end of this element
+                                dTypes.put(qualified, unmarshaller.unmarshal(reader, type).getValue());
+                                continue;
+                            }
+                            skipElement(reader);
+                        }
+                        reader.next();
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+            return dTypes;
+        }
+
+        private static java.lang.Class<?> getElementType(String element) {
+            switch (element) {
+                case "class": return Class.class;
+                case "interface": return Interface.class;
+                case "enum": return Enum.class;
+                default: return null;
+            }
+        }
+
+        private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0) {
+                final int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+
+    }
+
+    private static synchronized JAXBContext getJaxbContext() throws JAXBException {
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(Class.class, Interface.class, Enum.class);
+        }
+        return jaxbContext;
     }
 
     // enrichers
 
     public Model enrichModel(Model model) {
+        final Map<String, Object> dTypes = loadJavadocTypes(model);
         final List<BeanModel> dBeans = new ArrayList<>();
         final List<EnumModel<?>> dEnums = new ArrayList<>();
         for (BeanModel bean : model.getBeans()) {
-            final BeanModel dBean = enrichBean(bean);
+            final BeanModel dBean = enrichBean(bean, dTypes);
             dBeans.add(dBean);
         }
         for (EnumModel<?> enumModel : model.getEnums()) {
-            final EnumModel<?> dEnumModel = enrichEnum(enumModel);
+            final EnumModel<?> dEnumModel = enrichEnum(enumModel, dTypes);
             dEnums.add(dEnumModel);
         }
         return new Model(dBeans, dEnums, model.getJaxrsApplication());
     }
 
-    private BeanModel enrichBean(BeanModel bean) {
+    private BeanModel enrichBean(BeanModel bean, Map<String, Object> dTypes) {
         if (bean.getOrigin().isInterface()) {
-            final Interface dInterface = findJavadocInterface(bean.getOrigin(), dRoots);
+            final Interface dInterface = findJavadocType(bean.getOrigin(), Interface.class, dTypes);
             if (dInterface != null) {
                 return enrichBean(bean, dInterface.getComment(), dInterface.getTag(), dInterface.getField(), dInterface.getMethod());
             }
         } else {
-            final Class dClass = findJavadocClass(bean.getOrigin(), dRoots);
+            final Class dClass = findJavadocType(bean.getOrigin(), Class.class, dTypes);
             if (dClass != null) {
                 return enrichBean(bean, dClass.getComment(), dClass.getTag(), dClass.getField(), dClass.getMethod());
             }
@@ -95,8 +241,8 @@ public class Javadoc {
         return property.withComments(getComments(propertyComment, tags));
     }
 
-    private <T> EnumModel<T> enrichEnum(EnumModel<T> enumModel) {
-        final Enum dEnum = findJavadocEnum(enumModel.getOrigin(), dRoots);
+    private <T> EnumModel<T> enrichEnum(EnumModel<T> enumModel, Map<String, Object> dTypes) {
+        final Enum dEnum = findJavadocType(enumModel.getOrigin(), Enum.class, dTypes);
         final List<EnumMemberModel<T>> enrichedMembers = new ArrayList<>();
         for (EnumMemberModel<T> member : enumModel.getMembers()) {
             final EnumMemberModel<T> enrichedMember = enrichEnumMember(member, dEnum);
@@ -116,32 +262,13 @@ public class Javadoc {
 
     // finders
 
-    private static Class findJavadocClass(java.lang.Class<?> cls, List<Root> dRoots) {
-        final String name = cls.getName().replace('$', '.');
-        for (Root dRoot : dRoots) {
-            for (Package dPackage : dRoot.getPackage()) {
-                for (Class dClass : dPackage.getClazz()) {
-                    if (dClass.getQualified().equals(name)) {
-                        return dClass;
-                    }
-                }
-            }
-        }
-        return null;
+    private static String getQualifiedName(java.lang.Class<?> cls) {
+        return cls.getName().replace('$', '.');
     }
 
-    private static Interface findJavadocInterface(java.lang.Class<?> cls, List<Root> dRoots) {
-        final String name = cls.getName().replace('$', '.');
-        for (Root dRoot : dRoots) {
-            for (Package dPackage : dRoot.getPackage()) {
-                for (Interface dInterface : dPackage.getInterface()) {
-                    if (dInterface.getQualified().equals(name)) {
-                        return dInterface;
-                    }
-                }
-            }
-        }
-        return null;
+    private static <T> T findJavadocType(java.lang.Class<?> cls, java.lang.Class<T> dType, Map<String, Object> dTypes) {
+        final Object dElement = dTypes.get(getQualifiedName(cls));
+        return dType.isInstance(dElement) ? dType.cast(dElement) : null;
     }
 
     private static Field findJavadocField(String name, List<Field> dFields) {
@@ -166,20 +293,6 @@ public class Javadoc {
         return null;
     }
 
-    private static Enum findJavadocEnum(java.lang.Class<?> cls, List<Root> dRoots) {
-        final String name = cls.getName().replace('$', '.');
-        for (Root dRoot : dRoots) {
-            for (Package dPackage : dRoot.getPackage()) {
-                for (Enum dEnum : dPackage.getEnum()) {
-                    if (dEnum.getQualified().equals(name)) {
-                        return dEnum;
-                    }
-                }
-            }
-        }
-        return null;
-    }
-
     private static EnumConstant findJavadocEnumConstant(String name, Enum dEnum) {
         if (dEnum != null) {
             for (EnumConstant dEnumConstant : dEnum.getConstant()) {
@@ -9,6 +9,7 @@ public class Model {
     private final List<BeanModel> beans;
     private final List<EnumModel<?>> enums;
     private final JaxrsApplicationModel jaxrsApplication;
+    private Map<Class<?>, BeanModel> beansByOrigin;
 
     public Model(List<BeanModel> beans, List<EnumModel<?>> enums, JaxrsApplicationModel jaxrsApplication) {
         if (beans == null) throw new NullPointerException();
@@ -22,13 +23,16 @@ public class Model {
         return beans;
     }
 
-    public BeanModel getBean(Class<?> beanClass) {
-        for (BeanModel bean : beans) {
-            if (bean.getOrigin().equals(beanClass)) {
-                return bean;
+    public synchronized BeanModel getBean(Class<?> beanClass) {
+        if (beansByOrigin == null) {
+            beansByOrigin = new HashMap<>();
+            for (BeanModel bean : beans) {
+                if (!beansByOrigin.containsKey(bean.getOrigin())) {
+                    beansByOrigin.put(bean.getOrigin(), bean);
+                }
             }
         }
-        return null;
+        return beansByOrigin.get(beanClass);
     }
 
     public List<EnumModel<?>> getEnums() {
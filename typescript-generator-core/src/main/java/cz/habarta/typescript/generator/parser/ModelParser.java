@@ -5,9 +5,11 @@ import cz.habarta.typescript.generator.compiler.EnumMemberModel;
 import cz.habarta.typescript.generator.compiler.EnumKind;
 import cz.habarta.typescript.generator.compiler.SymbolTable;
 import cz.habarta.typescript.generator.*;
+import cz.habarta.typescript.generator.util.ClassFileInfo;
 import java.lang.reflect.Member;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.*;
 
 
 public abstract class ModelParser {
@@ -15,7 +17,8 @@ public abstract class ModelParser {
     protected final Settings settings;
     protected final TypeProcessor typeProcessor;
     private final Javadoc javadoc;
-    private final Queue<SourceType<? extends Type>> typeQueue = new LinkedList<>();
+    // parsing task running on current thread, each task has its own list of discovered types so concurrent parsings don't interfere
+    private final ThreadLocal<ParsingTask> currentTask = new ThreadLocal<>();
 
     public ModelParser(Settings settings, TypeProcessor typeProcessor) {
         this.settings = settings;
@@ -28,51 +31,180 @@ public abstract class ModelParser {
     }
 
     public Model parseModel(List<SourceType<Type>> types) {
-        typeQueue.addAll(types);
-        final Model model = parseQueue();
+        return parseModel(types, new GenerationMetrics());
+    }
+
+    public Model parseModel(List<SourceType<Type>> types, GenerationMetrics metrics) {
+        final GenerationMetrics.Measurement parsing = metrics.start("parsing");
+        final Model model = parseQueue(types, metrics);
+        parsing.stop();
+        final GenerationMetrics.Measurement javadocEnrichment = metrics.start("javadoc");
         final Model modelWithJavadoc = javadoc.enrichModel(model);
+        javadocEnrichment.stop();
         return modelWithJavadoc;
     }
 
-    private Model parseQueue() {
+    /**
+     * Processes types in waves. Each wave contains types discovered while processing previous wave
+     * (in the order in which they were discovered) so the resulting model is the same
+     * regardless of whether the types in one wave are parsed sequentially or in parallel.
+     */
+    private Model parseQueue(List<SourceType<Type>> types, GenerationMetrics metrics) {
+        final ParsingContext context = createParsingContext(new SymbolTable(settings));
         final JaxrsApplicationParser jaxrsApplicationParser = new JaxrsApplicationParser(settings.getExcludeFilter());
         final Set<Type> parsedTypes = new LinkedHashSet<>();
         final List<BeanModel> beans = new ArrayList<>();
         final List<EnumModel<?>> enums = new ArrayList<>();
-        SourceType<? extends Type> sourceType;
-        while ((sourceType = typeQueue.poll()) != null) {
-            if (parsedTypes.contains(sourceType.type)) {
-                continue;
+        final ForkJoinPool pool = settings.parallelParsing ? new ForkJoinPool(Runtime.getRuntime().availableProcessors()) : null;
+        try {
+            List<SourceType<? extends Type>> wave = new ArrayList<SourceType<? extends Type>>(types);
+            while (!wave.isEmpty()) {
+                final List<ParsingTask> tasks = new ArrayList<>();
+                for (SourceType<? extends Type> sourceType : wave) {
+                    if (parsedTypes.contains(sourceType.type)) {
+                        continue;
+                    }
+                    parsedTypes.add(sourceType.type);
+
+                    // JAX-RS resource
+                    final JaxrsApplicationParser.Result jaxrsResult = jaxrsApplicationParser.tryParse(sourceType);
+                    if (jaxrsResult != null) {
+                        tasks.add(new ParsingTask(context, sourceType, null, new ArrayList<SourceType<? extends Type>>(jaxrsResult.discoveredTypes), metrics));
+                        continue;
+                    }
+
+                    final TypeProcessor.Result result = processType(context, sourceType.type);
+                    if (result != null) {
+                        if (sourceType.type instanceof Class<?> && result.getTsType() instanceof TsType.ReferenceType) {
+                            final Class<?> cls = (Class<?>) sourceType.type;
+                            System.out.println("Parsing '" + cls.getName() + "'" +
+                                    (sourceType.usedInClass != null ? " used in '" + sourceType.usedInClass.getSimpleName() + "." + sourceType.usedInMember + "'" : ""));
+                        }
+                        tasks.add(new ParsingTask(context, sourceType, result, new ArrayList<SourceType<? extends Type>>(), metrics));
+                    }
+                }
+                if (pool != null && tasks.size() > 1) {
+                    invokeAll(pool, tasks);
+                } else {
+                    for (ParsingTask task : tasks) {
+                        task.call();
+                    }
+                }
+                final List<SourceType<? extends Type>> nextWave = new ArrayList<>();
+                for (ParsingTask task : tasks) {
+                    if (task.bean != null) {
+                        beans.add(task.bean);
+                    }
+                    if (task.enumModel != null) {
+                        enums.add(task.enumModel);
+                    }
+                    nextWave.addAll(task.discoveredTypes);
+                }
+                wave = nextWave;
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
             }
-            parsedTypes.add(sourceType.type);
+        }
+        return new Model(beans, enums, jaxrsApplicationParser.getModel());
+    }
 
-            // JAX-RS resource
-            final JaxrsApplicationParser.Result jaxrsResult = jaxrsApplicationParser.tryParse(sourceType);
-            if (jaxrsResult != null) {
-                typeQueue.addAll(jaxrsResult.discoveredTypes);
-                continue;
+    private static void invokeAll(ForkJoinPool pool, List<ParsingTask> tasks) {
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new RuntimeException(cause);
             }
+        }
+    }
 
-            final TypeProcessor.Result result = processType(sourceType.type);
-            if (result != null) {
+    /**
+     * State of one {@link #parseModel} call shared by all its parsing tasks.
+     * It is only referenced while parsing so long-lived parser doesn't retain classes from previous generations.
+     * Subclasses can extend it to hold their own per-parse caches, see {@link #createParsingContext}.
+     */
+    protected static class ParsingContext {
+
+        // symbols created by type processor are not used by parser, symbol table only holds cached type processor results
+        private final SymbolTable symbolTable;
+
+        protected ParsingContext(SymbolTable symbolTable) {
+            this.symbolTable = symbolTable;
+        }
+
+    }
+
+    /**
+     * Creates context for one {@link #parseModel} call.
+     */
+    protected ParsingContext createParsingContext(SymbolTable symbolTable) {
+        return new ParsingContext(symbolTable);
+    }
+
+    /**
+     * Returns context of {@link #parseModel} call which runs parsing task on current thread.
+     */
+    protected ParsingContext getParsingContext() {
+        return getCurrentTask().context;
+    }
+
+    private class ParsingTask implements Callable<Void> {
+
+        private final ParsingContext context;
+        private final SourceType<? extends Type> sourceType;
+        private final TypeProcessor.Result result;
+        private final List<SourceType<? extends Type>> discoveredTypes;
+        private final GenerationMetrics metrics;
+        private BeanModel bean;
+        private EnumModel<?> enumModel;
+
+        public ParsingTask(ParsingContext context, SourceType<? extends Type> sourceType, TypeProcessor.Result result, List<SourceType<? extends Type>> discoveredTypes, GenerationMetrics metrics) {
+            this.context = context;
+            this.sourceType = sourceType;
+            this.result = result;
+            this.discoveredTypes = discoveredTypes;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public Void call() {
+            if (result == null) {
+                return null;
+            }
+            final ParsingTask previous = currentTask.get();
+            currentTask.set(this);
+            try {
                 if (sourceType.type instanceof Class<?> && result.getTsType() instanceof TsType.ReferenceType) {
                     final Class<?> cls = (Class<?>) sourceType.type;
-                    System.out.println("Parsing '" + cls.getName() + "'" +
-                            (sourceType.usedInClass != null ? " used in '" + sourceType.usedInClass.getSimpleName() + "." + sourceType.usedInMember + "'" : ""));
+                    final long start = System.nanoTime();
                     if (cls.isEnum()) {
-                        final EnumModel<?> enumModel = parseEnum(sourceType.asSourceClass());
-                        enums.add(enumModel);
+                        enumModel = parseEnum(sourceType.asSourceClass());
                     } else {
-                        final BeanModel bean = parseBean(sourceType.asSourceClass());
-                        beans.add(bean);
+                        bean = parseBean(sourceType.asSourceClass());
                     }
+                    metrics.recordClassParsing(cls, System.nanoTime() - start);
                 }
                 for (Class<?> cls : result.getDiscoveredClasses()) {
-                    typeQueue.add(new SourceType<>(cls, sourceType.usedInClass, sourceType.usedInMember));
+                    discoveredTypes.add(new SourceType<>(cls, sourceType.usedInClass, sourceType.usedInMember));
                 }
+            } finally {
+                currentTask.set(previous);
             }
+            return null;
         }
-        return new Model(beans, enums, jaxrsApplicationParser.getModel());
+
     }
 
     protected abstract BeanModel parseBean(SourceType<Class<?>> sourceClass);
@@ -80,34 +212,63 @@ public abstract class ModelParser {
     protected EnumModel<?> parseEnum(SourceType<Class<?>> sourceClass) {
         final List<EnumMemberModel<String>> values = new ArrayList<>();
         if (sourceClass.type.isEnum()) {
-            @SuppressWarnings("unchecked")
-            final Class<? extends Enum<?>> enumClass = (Class<? extends Enum<?>>) sourceClass.type;
-            for (Enum<?> enumConstant : enumClass.getEnumConstants()) {
-                values.add(new EnumMemberModel<>(enumConstant.name(), enumConstant.name(), null));
+            for (String name : getEnumConstantNames(sourceClass.type)) {
+                values.add(new EnumMemberModel<>(name, name, null));
             }
         }
         return new EnumModel<>(sourceClass.type, EnumKind.StringBased, values, null);
     }
 
+    /**
+     * Returns names of enum constants in declaration order.
+     * Names are read from class file so enum class doesn't need to be initialized
+     * (order of {@link Class#getDeclaredFields()} is not specified),
+     * enum constants are only used when class file is not available.
+     */
+    private static List<String> getEnumConstantNames(Class<?> enumClass) {
+        final ClassFileInfo classFile = ClassFileInfo.read(enumClass.getClassLoader(), enumClass.getName());
+        if (classFile != null) {
+            return classFile.getEnumConstantNames();
+        }
+        final List<String> names = new ArrayList<>();
+        for (Object enumConstant : enumClass.getEnumConstants()) {
+            names.add(((Enum<?>) enumConstant).name());
+        }
+        return names;
+    }
+
     protected void addBeanToQueue(SourceType<? extends Type> sourceType) {
-        typeQueue.add(sourceType);
+        getTypeQueue().add(sourceType);
     }
 
     protected PropertyModel processTypeAndCreateProperty(String name, Type type, boolean optional, Class<?> usedInClass, Member originalMember, PropertyModel.PullProperties pullProperties) {
         List<Class<?>> classes = discoverClassesUsedInType(type);
+        final List<SourceType<? extends Type>> typeQueue = getTypeQueue();
         for (Class<?> cls : classes) {
             typeQueue.add(new SourceType<>(cls, usedInClass, name));
         }
         return new PropertyModel(name, type, optional, originalMember, pullProperties, null);
     }
 
+    private List<SourceType<? extends Type>> getTypeQueue() {
+        return getCurrentTask().discoveredTypes;
+    }
+
+    private ParsingTask getCurrentTask() {
+        final ParsingTask task = currentTask.get();
+        if (task == null) {
+            throw new IllegalStateException("Parsing context is only available while parsing model");
+        }
+        return task;
+    }
+
     private List<Class<?>> discoverClassesUsedInType(Type type) {
-        final TypeProcessor.Result result = processType(type);
+        final TypeProcessor.Result result = processType(getCurrentTask().context, type);
         return result != null ? result.getDiscoveredClasses() : Collections.<Class<?>>emptyList();
     }
 
-    private TypeProcessor.Result processType(Type type) {
-        return typeProcessor.processType(type, new TypeProcessor.Context(new SymbolTable(settings), typeProcessor));
+    private TypeProcessor.Result processType(ParsingContext context, Type type) {
+        return new TypeProcessor.Context(context.symbolTable, typeProcessor).processType(type);
     }
 
     public static boolean containsProperty(List<PropertyModel> properties, String propertyName) {
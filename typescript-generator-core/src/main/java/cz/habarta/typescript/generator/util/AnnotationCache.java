@@ -0,0 +1,120 @@
+
+package cz.habarta.typescript.generator.util;
+
+import java.lang.annotation.Annotation;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * Finds annotations present on class or inherited from its superclasses and interfaces.
+ * Results are memoized per class and annotation type, results for a class are built from results of its direct supertypes
+ * so each class in hierarchy is scanned only once for each annotation type.
+ * Lookups with {@link Class#getAnnotation} semantics are memoized too, for callers which must not see annotations of supertypes.
+ */
+public class AnnotationCache {
+
+    private static final ClassValue<ConcurrentMap<Class<? extends Annotation>, List<Annotation>>> inheritedAnnotations = new ClassValue<ConcurrentMap<Class<? extends Annotation>, List<Annotation>>>() {
+        @Override
+        protected ConcurrentMap<Class<? extends Annotation>, List<Annotation>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private static final ClassValue<ConcurrentMap<Class<? extends Annotation>, List<Annotation>>> presentAnnotations = new ClassValue<ConcurrentMap<Class<? extends Annotation>, List<Annotation>>>() {
+        @Override
+        protected ConcurrentMap<Class<? extends Annotation>, List<Annotation>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private AnnotationCache() {
+    }
+
+    /**
+     * Returns annotation of specified type present on the class, same as {@link Class#getAnnotation}.
+     * Annotations of supertypes are only returned if annotation type is {@link java.lang.annotation.Inherited}.
+     */
+    public static <A extends Annotation> A getAnnotation(Class<?> cls, Class<A> annotationClass) {
+        final ConcurrentMap<Class<? extends Annotation>, List<Annotation>> annotationsByType = presentAnnotations.get(cls);
+        List<Annotation> annotations = annotationsByType.get(annotationClass);
+        if (annotations == null) {
+            final Annotation annotation = cls.getAnnotation(annotationClass);
+            annotations = annotation != null ? Collections.singletonList(annotation) : Collections.<Annotation>emptyList();
+            annotationsByType.put(annotationClass, annotations);
+        }
+        return annotations.isEmpty() ? null : annotationClass.cast(annotations.get(0));
+    }
+
+    /**
+     * Returns annotation of specified type present on the class or on its nearest supertype.
+     * Class itself is searched first, then its interfaces (recursively) and then its superclass (recursively).
+     */
+    public static <A extends Annotation> A getAnnotationRecursive(Class<?> cls, Class<A> annotationClass) {
+        final List<A> annotations = getAnnotationsRecursive(cls, annotationClass);
+        return annotations.isEmpty() ? null : annotations.get(0);
+    }
+
+    /**
+     * Returns first annotation of specified type which satisfies specified filter,
+     * supertypes are searched in the same order as in {@link #getAnnotationRecursive(Class, Class)}.
+     */
+    public static <A extends Annotation> A getAnnotationRecursive(Class<?> cls, Class<A> annotationClass, Predicate<A> annotationFilter) {
+        for (A annotation : getAnnotationsRecursive(cls, annotationClass)) {
+            if (annotationFilter == null || annotationFilter.test(annotation)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns all distinct annotations of specified type present on the class and its supertypes in search order.
+     */
+    public static <A extends Annotation> List<A> getAnnotationsRecursive(Class<?> cls, Class<A> annotationClass) {
+        if (cls == null) {
+            return Collections.emptyList();
+        }
+        final ConcurrentMap<Class<? extends Annotation>, List<Annotation>> annotationsByType = inheritedAnnotations.get(cls);
+        List<Annotation> annotations = annotationsByType.get(annotationClass);
+        if (annotations == null) {
+            annotations = findAnnotationsRecursive(cls, annotationClass);
+            annotationsByType.put(annotationClass, annotations);
+        }
+        @SuppressWarnings("unchecked")
+        final List<A> result = (List<A>) annotations;
+        return result;
+    }
+
+    private static List<Annotation> findAnnotationsRecursive(Class<?> cls, Class<? extends Annotation> annotationClass) {
+        final List<Annotation> annotations = new ArrayList<>();
+        final Annotation annotation = getAnnotation(cls, annotationClass);
+        if (annotation != null) {
+            annotations.add(annotation);
+        }
+        for (Class<?> aInterface : cls.getInterfaces()) {
+            addDistinct(annotations, getAnnotationsRecursive(aInterface, annotationClass));
+        }
+        addDistinct(annotations, getAnnotationsRecursive(cls.getSuperclass(), annotationClass));
+        return annotations.isEmpty() ? Collections.<Annotation>emptyList() : Collections.unmodifiableList(annotations);
+    }
+
+    private static void addDistinct(List<Annotation> annotations, List<? extends Annotation> newAnnotations) {
+        for (Annotation annotation : newAnnotations) {
+            if (!containsInstance(annotations, annotation)) {
+                annotations.add(annotation);
+            }
+        }
+    }
+
+    private static boolean containsInstance(List<Annotation> annotations, Annotation annotation) {
+        for (Annotation a : annotations) {
+            if (a == annotation) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
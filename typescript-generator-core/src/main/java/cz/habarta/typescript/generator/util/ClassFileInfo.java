@@ -0,0 +1,293 @@
+
+package cz.habarta.typescript.generator.util;
+
+import java.io.*;
+import java.util.*;
+
+
+/**
+ * Basic information about class read directly from class file without loading the class.
+ * Only access flags, class names, enum constant names, inner class information and class annotations are read.
+ */
+public class ClassFileInfo {
+
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_SYNTHETIC = 0x1000;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM = 0x4000;
+
+    private final String name;
+    private final int accessFlags;
+    private final String superclassName;
+    private final List<String> interfaceNames;
+    private final List<String> enumConstantNames;
+    private final List<String> annotationNames;
+    private final boolean anonymous;
+
+    private ClassFileInfo(String name, int accessFlags, String superclassName, List<String> interfaceNames, List<String> enumConstantNames, List<String> annotationNames, boolean anonymous) {
+        this.name = name;
+        this.accessFlags = accessFlags;
+        this.superclassName = superclassName;
+        this.interfaceNames = interfaceNames;
+        this.enumConstantNames = enumConstantNames;
+        this.annotationNames = annotationNames;
+        this.anonymous = anonymous;
+    }
+
+    /**
+     * Reads class file of specified class using specified class loader.
+     * @return class information or <code>null</code> if class file was not found
+     */
+    public static ClassFileInfo read(ClassLoader classLoader, String className) {
+        final String resourceName = className.replace('.', '/') + ".class";
+        final InputStream inputStream = classLoader != null
+                ? classLoader.getResourceAsStream(resourceName)
+                : ClassLoader.getSystemResourceAsStream(resourceName);
+        if (inputStream == null) {
+            return null;
+        }
+        try (InputStream stream = inputStream) {
+            return read(stream);
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read class file of '" + className + "'", e);
+        }
+    }
+
+    public static ClassFileInfo read(InputStream inputStream) throws IOException {
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        if (input.readInt() != 0xCAFEBABE) {
+            throw new IOException("Invalid class file");
+        }
+        input.readUnsignedShort();  // minor version
+        input.readUnsignedShort();  // major version
+        final ConstantPool constantPool = new ConstantPool(input);
+        final int accessFlags = input.readUnsignedShort();
+        final int thisClassIndex = input.readUnsignedShort();
+        final int superClassIndex = input.readUnsignedShort();
+        final int interfacesCount = input.readUnsignedShort();
+        final List<String> interfaceNames = new ArrayList<>();
+        for (int i = 0; i < interfacesCount; i++) {
+            interfaceNames.add(constantPool.getClassName(input.readUnsignedShort()));
+        }
+        final List<String> enumConstantNames = new ArrayList<>();
+        final int fieldsCount = input.readUnsignedShort();
+        for (int i = 0; i < fieldsCount; i++) {
+            final int fieldAccessFlags = input.readUnsignedShort();
+            final int fieldNameIndex = input.readUnsignedShort();
+            input.readUnsignedShort();  // descriptor
+            skipAttributes(input);
+            if ((fieldAccessFlags & ACC_ENUM) != 0) {
+                enumConstantNames.add(constantPool.getUtf8(fieldNameIndex));
+            }
+        }
+        skipMembers(input);  // methods
+        final List<String> annotationNames = new ArrayList<>();
+        boolean anonymous = false;
+        final int attributesCount = input.readUnsignedShort();
+        for (int i = 0; i < attributesCount; i++) {
+            final String attributeName = constantPool.getUtf8(input.readUnsignedShort());
+            final int length = input.readInt();
+            if (attributeName.equals("InnerClasses")) {
+                final int classesCount = input.readUnsignedShort();
+                for (int c = 0; c < classesCount; c++) {
+                    final int innerClassIndex = input.readUnsignedShort();
+                    input.readUnsignedShort();  // outer class
+                    final int innerNameIndex = input.readUnsignedShort();
+                    input.readUnsignedShort();  // inner class access flags
+                    if (innerClassIndex == thisClassIndex && innerNameIndex == 0) {
+                        anonymous = true;
+                    }
+                }
+            } else if (attributeName.equals("RuntimeVisibleAnnotations")) {
+                final int annotationsCount = input.readUnsignedShort();
+                for (int a = 0; a < annotationsCount; a++) {
+                    annotationNames.add(descriptorToClassName(constantPool.getUtf8(input.readUnsignedShort())));
+                    skipElementValuePairs(input);
+                }
+            } else {
+                skipFully(input, length);
+            }
+        }
+        return new ClassFileInfo(
+                constantPool.getClassName(thisClassIndex),
+                accessFlags,
+                superClassIndex != 0 ? constantPool.getClassName(superClassIndex) : null,
+                interfaceNames,
+                enumConstantNames,
+                annotationNames,
+                anonymous);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSuperclassName() {
+        return superclassName;
+    }
+
+    public List<String> getInterfaceNames() {
+        return interfaceNames;
+    }
+
+    /**
+     * Returns names of enum constants in declaration order (order of fields in class file).
+     */
+    public List<String> getEnumConstantNames() {
+        return enumConstantNames;
+    }
+
+    /**
+     * Returns names of annotations with runtime retention present directly on the class.
+     */
+    public List<String> getAnnotationNames() {
+        return annotationNames;
+    }
+
+    public boolean hasAnnotation(Class<?> annotationClass) {
+        return annotationNames.contains(annotationClass.getName());
+    }
+
+    public boolean isInterface() {
+        return (accessFlags & ACC_INTERFACE) != 0;
+    }
+
+    public boolean isAnnotation() {
+        return (accessFlags & ACC_ANNOTATION) != 0;
+    }
+
+    public boolean isEnum() {
+        return (accessFlags & ACC_ENUM) != 0;
+    }
+
+    public boolean isSynthetic() {
+        return (accessFlags & ACC_SYNTHETIC) != 0;
+    }
+
+    public boolean isAnonymous() {
+        return anonymous;
+    }
+
+    private static void skipMembers(DataInputStream input) throws IOException {
+        final int count = input.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            input.readUnsignedShort();  // access flags
+            input.readUnsignedShort();  // name
+            input.readUnsignedShort();  // descriptor
+            skipAttributes(input);
+        }
+    }
+
+    private static void skipAttributes(DataInputStream input) throws IOException {
+        final int attributesCount = input.readUnsignedShort();
+        for (int a = 0; a < attributesCount; a++) {
+            input.readUnsignedShort();  // attribute name
+            skipFully(input, input.readInt());
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream input) throws IOException {
+        final int pairsCount = input.readUnsignedShort();
+        for (int i = 0; i < pairsCount; i++) {
+            input.readUnsignedShort();  // element name
+            skipElementValue(input);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream input) throws IOException {
+        final int tag = input.readUnsignedByte();
+        switch (tag) {
+            case 'e':
+                input.readUnsignedShort();
+                input.readUnsignedShort();
+                break;
+            case '@':
+                input.readUnsignedShort();
+                skipElementValuePairs(input);
+                break;
+            case '[':
+                final int valuesCount = input.readUnsignedShort();
+                for (int i = 0; i < valuesCount; i++) {
+                    skipElementValue(input);
+                }
+                break;
+            default:
+                input.readUnsignedShort();
+                break;
+        }
+    }
+
+    private static void skipFully(DataInputStream input, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            final int skipped = input.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static String descriptorToClassName(String descriptor) {
+        if (descriptor.startsWith("L") && descriptor.endsWith(";")) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+        return descriptor;
+    }
+
+    private static class ConstantPool {
+
+        private final Object[] values;
+
+        public ConstantPool(DataInputStream input) throws IOException {
+            final int count = input.readUnsignedShort();
+            values = new Object[count];
+            for (int i = 1; i < count; i++) {
+                final int tag = input.readUnsignedByte();
+                switch (tag) {
+                    case 1:  // Utf8
+                        values[i] = input.readUTF();
+                        break;
+                    case 7:  // Class
+                    case 8:  // String
+                    case 16:  // MethodType
+                    case 19:  // Module
+                    case 20:  // Package
+                        values[i] = input.readUnsignedShort();
+                        break;
+                    case 15:  // MethodHandle
+                        input.readUnsignedByte();
+                        input.readUnsignedShort();
+                        break;
+                    case 3:  // Integer
+                    case 4:  // Float
+                    case 9:  // Fieldref
+                    case 10:  // Methodref
+                    case 11:  // InterfaceMethodref
+                    case 12:  // NameAndType
+                    case 17:  // Dynamic
+                    case 18:  // InvokeDynamic
+                        input.readInt();
+                        break;
+                    case 5:  // Long
+                    case 6:  // Double
+                        input.readLong();
+                        i++;
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag: " + tag);
+                }
+            }
+        }
+
+        public String getUtf8(int index) {
+            return (String) values[index];
+        }
+
+        public String getClassName(int index) {
+            return getUtf8((Integer) values[index]).replace('/', '.');
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.annotation.*;
+import cz.habarta.typescript.generator.util.AnnotationCache;
+import cz.habarta.typescript.generator.util.Predicate;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class AnnotationCacheTest {
+
+    @Test
+    public void testSearchOrder() {
+        Assert.assertEquals("Root", AnnotationCache.getAnnotationRecursive(Leaf.class, JsonTypeInfo.class).property());
+        Assert.assertEquals("Interface", AnnotationCache.getAnnotationRecursive(Leaf.class, JsonTypeName.class).value());
+        Assert.assertEquals("Leaf", AnnotationCache.getAnnotationRecursive(Leaf.class, JsonPropertyOrder.class).value()[0]);
+        Assert.assertNull(AnnotationCache.getAnnotationRecursive(Leaf.class, JsonSubTypes.class));
+        final List<JsonTypeName> typeNames = AnnotationCache.getAnnotationsRecursive(Leaf.class, JsonTypeName.class);
+        Assert.assertEquals(2, typeNames.size());
+        Assert.assertEquals("Interface", typeNames.get(0).value());
+        Assert.assertEquals("Middle", typeNames.get(1).value());
+    }
+
+    @Test
+    public void testFilter() {
+        final JsonTypeName typeName = AnnotationCache.getAnnotationRecursive(Leaf.class, JsonTypeName.class, new Predicate<JsonTypeName>() {
+            @Override
+            public boolean test(JsonTypeName value) {
+                return value.value().startsWith("M");
+            }
+        });
+        Assert.assertEquals("Middle", typeName.value());
+    }
+
+    @Test
+    public void testDirectAnnotation() {
+        Assert.assertNull(AnnotationCache.getAnnotation(Leaf.class, JsonTypeInfo.class));
+        Assert.assertNull(AnnotationCache.getAnnotation(Leaf.class, JsonTypeName.class));
+        Assert.assertEquals("Middle", AnnotationCache.getAnnotation(Middle.class, JsonTypeName.class).value());
+        Assert.assertSame(Middle.class.getAnnotation(JsonTypeName.class), AnnotationCache.getAnnotation(Middle.class, JsonTypeName.class));
+    }
+
+    @Test
+    public void testMemoization() {
+        Assert.assertSame(
+                AnnotationCache.getAnnotationsRecursive(Leaf.class, JsonTypeInfo.class),
+                AnnotationCache.getAnnotationsRecursive(Leaf.class, JsonTypeInfo.class));
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "Root")
+    private static class Root {
+    }
+
+    @JsonTypeName("Middle")
+    private static class Middle extends Root {
+    }
+
+    @JsonTypeName("Interface")
+    private static interface Named {
+    }
+
+    @JsonPropertyOrder("Leaf")
+    private static class Leaf extends Middle implements Named {
+    }
+
+}
@@ -0,0 +1,104 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.util.ClassFileInfo;
+import cz.habarta.typescript.generator.util.Predicate;
+import java.util.*;
+import javax.ws.rs.Path;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+
+public class BytecodeDiscoveryTest {
+
+    private static final Set<String> initializedClasses = Collections.synchronizedSet(new HashSet<String>());
+
+    @Test
+    public void testClassFileInfo() {
+        final ClassFileInfo bean = ClassFileInfo.read(getClass().getClassLoader(), Bean.class.getName());
+        assertEquals(Bean.class.getName(), bean.getName());
+        assertEquals(Object.class.getName(), bean.getSuperclassName());
+        assertFalse(bean.isAnonymous());
+        assertFalse(bean.isSynthetic());
+
+        final ClassFileInfo resource = ClassFileInfo.read(getClass().getClassLoader(), Resource.class.getName());
+        assertTrue(resource.isInterface());
+        assertTrue(resource.hasAnnotation(Path.class));
+
+        final ClassFileInfo enumInfo = ClassFileInfo.read(getClass().getClassLoader(), Direction.class.getName());
+        assertTrue(enumInfo.isEnum());
+        assertEquals(Arrays.asList("North", "South"), enumInfo.getEnumConstantNames());
+        assertEquals(Arrays.asList("Zeta", "Alpha", "Mu"), ClassFileInfo.read(getClass().getClassLoader(), Letter.class.getName()).getEnumConstantNames());
+
+        final Object anonymous = new Object() {};
+        assertTrue(ClassFileInfo.read(getClass().getClassLoader(), anonymous.getClass().getName()).isAnonymous());
+
+        assertNull(ClassFileInfo.read(getClass().getClassLoader(), "cz.habarta.NonExistingClass"));
+    }
+
+    @Test
+    public void testClassesAreNotInitialized() {
+        final Object anonymous = new Object() {};
+        final Input.Parameters parameters = new Input.Parameters();
+        parameters.classNames = Arrays.asList(Bean.class.getName(), Direction.class.getName(), Excluded.class.getName(), anonymous.getClass().getName());
+        parameters.isClassNameExcluded = new Predicate<String>() {
+            @Override
+            public boolean test(String className) {
+                return className.equals(Excluded.class.getName());
+            }
+        };
+        parameters.classLoader = getClass().getClassLoader();
+        parameters.discoverClassesFromBytecode = true;
+        final Input input = Input.from(parameters);
+        assertEquals(Arrays.asList(Bean.class.getName(), Direction.class.getName()), input.getSourceTypeNames());
+
+        for (JsonLibrary jsonLibrary : Arrays.asList(JsonLibrary.jackson1, JsonLibrary.jackson2)) {
+            final Settings settings = TestUtils.settings();
+            settings.jsonLibrary = jsonLibrary;
+            final String output = new TypeScriptGenerator(settings).generateTypeScript(input);
+            assertTrue(output.contains("interface Bean"));
+            assertTrue(output.contains("type Direction = \"North\" | \"South\""));
+            assertTrue(initializedClasses.toString(), initializedClasses.isEmpty());
+        }
+    }
+
+    @Test
+    public void testEnumConstantsInDeclarationOrder() {
+        final Settings settings = TestUtils.settings();
+        settings.jsonLibrary = JsonLibrary.jackson1;
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(Letter.class));
+        assertTrue(output, output.contains("type Letter = \"Zeta\" | \"Alpha\" | \"Mu\""));
+    }
+
+    private static class Bean {
+        static {
+            initializedClasses.add("Bean");
+        }
+        public String name;
+        public Direction direction;
+    }
+
+    private static enum Direction {
+        North, South;
+        static {
+            initializedClasses.add("Direction");
+        }
+    }
+
+    private static enum Letter {
+        Zeta, Alpha {
+            @Override
+            public String toString() {
+                return "alpha";
+            }
+        }, Mu;
+        public static final Letter Default = Zeta;
+    }
+
+    private static class Excluded {
+    }
+
+    @Path("resource")
+    private static interface Resource {
+    }
+
+}
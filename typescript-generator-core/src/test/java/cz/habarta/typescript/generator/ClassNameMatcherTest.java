@@ -0,0 +1,38 @@
+package cz.habarta.typescript.generator;
+
+import java.util.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class ClassNameMatcherTest {
+
+    @Test
+    public void testNamesAndGlobs() {
+        final ClassNameMatcher matcher = new ClassNameMatcher(
+                Arrays.asList("com.example.Excluded"),
+                Arrays.asList("com.example.*Dto", "com.example.**Json", "com.example.api.*", "**Internal", "com.example.Exact"));
+        Assert.assertTrue(matcher.test("com.example.Excluded"));
+        Assert.assertTrue(matcher.test("com.example.Exact"));
+        Assert.assertTrue(matcher.test("com.example.PersonDto"));
+        Assert.assertTrue(matcher.test("com.example.sub.PersonJson"));
+        Assert.assertTrue(matcher.test("com.example.api.Person"));
+        Assert.assertTrue(matcher.test("org.other.PersonInternal"));
+        Assert.assertFalse(matcher.test("com.example.sub.PersonDto"));
+        Assert.assertFalse(matcher.test("com.example.api.sub.Person"));
+        Assert.assertFalse(matcher.test("com.example.ExactNot"));
+        Assert.assertFalse(matcher.test("com.example"));
+        Assert.assertFalse(matcher.test("org.other.Person"));
+        // memoized results
+        Assert.assertTrue(matcher.test("com.example.PersonDto"));
+        Assert.assertFalse(matcher.test("org.other.Person"));
+    }
+
+    @Test
+    public void testEmpty() {
+        final ClassNameMatcher matcher = new ClassNameMatcher(null, null);
+        Assert.assertFalse(matcher.test("com.example.Person"));
+        Assert.assertEquals(Arrays.<String>asList(), matcher.filter(Arrays.asList("com.example.Person")));
+    }
+
+}
@@ -85,6 +85,43 @@ public class ClassesTest {
         );
     }
 
+    @Test
+    public void testDiamondHierarchyWithOverriddenProperties() {
+        // R1 is reached by several paths, inherited and implemented properties of shared ancestors are computed once
+        // (expected output is the same as output of implementation which walked whole hierarchy for each bean)
+        testOutput(R6.class,
+                "class R4 implements R2, R3 {\n" +
+                "    left: string;\n" +
+                "    value: any;\n" +
+                "    id: string;\n" +
+                "    right: string;\n" +
+                "    r4: string;\n" +
+                "}\n" +
+                "\n" +
+                "class R5 extends R4 implements R3 {\n" +
+                "    r5: string;\n" +
+                "}\n" +
+                "\n" +
+                "class R6 extends R5 implements R2 {\n" +
+                "    r6: string;\n" +
+                "    value: number;\n" +
+                "}\n" +
+                "\n" +
+                "interface R2 extends R1 {\n" +
+                "    left: string;\n" +
+                "}\n" +
+                "\n" +
+                "interface R3 extends R1 {\n" +
+                "    right: string;\n" +
+                "}\n" +
+                "\n" +
+                "interface R1 {\n" +
+                "    value: any;\n" +
+                "    id: string;\n" +
+                "}"
+        );
+    }
+
     private static void testOutput(Class<?> inputClass, String expected) {
         final Settings settings = TestUtils.settings();
         settings.outputFileType = TypeScriptFileType.implementationFile;
@@ -134,4 +171,34 @@ public class ClassesTest {
         public abstract String getQ5();
     }
 
+
+    private static interface R1 {
+        public abstract String getId();
+        public abstract Object getValue();
+    }
+
+    private static interface R2 extends R1 {
+        public abstract String getLeft();
+    }
+
+    private static interface R3 extends R1 {
+        public abstract Number getValue();
+        public abstract String getRight();
+    }
+
+    private static abstract class R4 implements R2, R3 {
+        public abstract Number getValue();
+        public abstract String getR4();
+    }
+
+    private static abstract class R5 extends R4 implements R3 {
+        public abstract String getR5();
+    }
+
+    private static abstract class R6 extends R5 implements R2 {
+        public abstract String getId();
+        public abstract Integer getValue();
+        public abstract String getR6();
+    }
+
 }
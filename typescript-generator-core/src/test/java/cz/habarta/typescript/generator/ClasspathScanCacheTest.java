@@ -0,0 +1,38 @@
+package cz.habarta.typescript.generator;
+
+import java.io.*;
+import static org.junit.Assert.*;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+
+public class ClasspathScanCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSharedScanResult() {
+        ClasspathScanCache.clear();
+        final ClasspathScanResult result1 = ClasspathScanCache.scan(null);
+        final ClasspathScanResult result2 = ClasspathScanCache.scan(null);
+        assertSame(result1, result2);
+        assertTrue(result1.standardClassNames.contains(ClasspathScanCacheTest.class.getName()));
+        assertTrue(result1.interfaceClassNames.contains(TypeProcessor.class.getName()));
+    }
+
+    @Test
+    public void testPersistentScanResult() {
+        final File cacheFile = new File(folder.getRoot(), "classpath-scan-cache.json");
+        ClasspathScanCache.clear();
+        final ClasspathScanResult scanned = ClasspathScanCache.scan(cacheFile);
+        assertTrue(cacheFile.exists());
+        ClasspathScanCache.clear();
+        final ClasspathScanResult loaded = ClasspathScanCache.scan(cacheFile);
+        assertNotSame(scanned, loaded);
+        assertEquals(scanned.standardClassNames, loaded.standardClassNames);
+        assertEquals(scanned.interfaceClassNames, loaded.interfaceClassNames);
+        assertEquals(scanned.pathAnnotatedClassNames, loaded.pathAnnotatedClassNames);
+    }
+
+}
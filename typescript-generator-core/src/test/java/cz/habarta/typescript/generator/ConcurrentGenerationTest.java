@@ -0,0 +1,85 @@
+
+package cz.habarta.typescript.generator;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.*;
+import static org.junit.Assert.*;
+import org.junit.*;
+
+
+public class ConcurrentGenerationTest {
+
+    @Test
+    public void testSharedGenerator() throws Exception {
+        final Settings settings = TestUtils.settings();
+        settings.javadocXmlFiles = Collections.<File>emptyList();
+        final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+        final List<Input> inputs = Arrays.asList(
+                Input.from(Order.class),
+                Input.from(Customer.class),
+                Input.from(Product.class),
+                Input.from(Order.class, Product.class));
+        final List<String> expected = new ArrayList<>();
+        for (Input input : inputs) {
+            expected.add(new TypeScriptGenerator(settings).generateTypeScript(input));
+        }
+        final List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            final Input input = inputs.get(i % inputs.size());
+            tasks.add(new Callable<String>() {
+                @Override
+                public String call() {
+                    return generator.generateTypeScript(input);
+                }
+            });
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> futures = executor.invokeAll(tasks);
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(expected.get(i % inputs.size()), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(expected.get(0).contains("interface Customer"));
+        assertFalse(expected.get(1).contains("interface Order"));
+    }
+
+    @Test
+    public void testInputDoesNotChangeContextClassLoader() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        final Input.Parameters parameters = new Input.Parameters();
+        parameters.classNames = Arrays.asList(Order.class.getName());
+        parameters.classLoader = new ClassLoader(ConcurrentGenerationTest.class.getClassLoader()) {
+            @Override
+            protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+                assertSame(contextClassLoader, Thread.currentThread().getContextClassLoader());
+                return super.loadClass(name, resolve);
+            }
+        };
+        final Input input = Input.from(parameters);
+        assertEquals(Arrays.asList(Order.class.getName()), input.getSourceTypeNames());
+    }
+
+    private static class Order {
+        public Customer customer;
+        public List<Product> products;
+        public Date created;
+    }
+
+    private static class Customer {
+        public String name;
+    }
+
+    private static class Product {
+        public String name;
+        public Category category;
+    }
+
+    private static enum Category {
+        Food, Books
+    }
+
+}
@@ -30,12 +30,56 @@ public class CustomTypeConversionTest {
         assertTrue(new String(out.toByteArray()).trim().contains("x?: number;"));
     }
 
+    @Test
+    public void testTypeProcessorResultsAreCached() {
+        assertEquals(2, countProcessedTypes(false));
+        assertTrue(countProcessedTypes(true) > 2);
+    }
+
+    @Test
+    public void testTypeProcessorCacheIsNotKeptBetweenGenerations() {
+        // parser and compiler process the type once in each generation, shared generator doesn't reuse results
+        assertEquals(2, countProcessedTypes(false, 1));
+        assertEquals(4, countProcessedTypes(false, 2));
+    }
+
+    private static int countProcessedTypes(boolean disableTypeProcessorCache) {
+        return countProcessedTypes(disableTypeProcessorCache, 1);
+    }
+
+    private static int countProcessedTypes(boolean disableTypeProcessorCache, int generations) {
+        final Settings settings = TestUtils.settings();
+        settings.disableTypeProcessorCache = disableTypeProcessorCache;
+        final int[] count = new int[1];
+        settings.customTypeProcessor = new TypeProcessor() {
+            @Override
+            public TypeProcessor.Result processType(Type javaType, TypeProcessor.Context context) {
+                if (javaType.equals(B.class)) {
+                    count[0]++;
+                }
+                return null;
+            }
+        };
+        final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+        for (int i = 0; i < generations; i++) {
+            final String output = generator.generateTypeScript(Input.from(C.class));
+            assertTrue(output.contains("b3: B;"));
+        }
+        return count[0];
+    }
+
     public static class A {
         public B getX() {
             return null;
         }
     }
 
+    public static class C {
+        public B b1;
+        public B b2;
+        public B b3;
+    }
+
     public static class B {
         public B getX() {
             return null;
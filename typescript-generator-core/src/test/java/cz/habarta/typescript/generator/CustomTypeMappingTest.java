@@ -24,9 +24,27 @@ public class CustomTypeMappingTest {
         assertTrue(output.contains("calendar1: myModule.MyCalendar;"));
     }
 
+    @Test
+    public void testMappingToDateIsNotTransformed() {
+        final Settings settings = TestUtils.settings();
+        settings.mapDate = DateMapping.asString;
+        settings.customTypeMappings.put(CustomDate.class.getName(), "Date");
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(DateUsage.class));
+        assertTrue(output.contains("date: DateAsString;"));
+        assertTrue(output.contains("custom: Date;"));
+    }
+
     private static class CustomTypesUsage {
         public Date date1;
         public Calendar calendar1;
     }
 
+    private static class DateUsage {
+        public Date date;
+        public CustomDate custom;
+    }
+
+    private static class CustomDate {
+    }
+
 }
@@ -0,0 +1,150 @@
+
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.annotation.*;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class FastJackson2ParserTest {
+
+    @Test
+    public void testSameOutputAsJackson2ForTestBeans() {
+        final List<Class<?>> testClasses = Arrays.<Class<?>>asList(
+                Jackson2ParserTest.class,
+                JsonUnwrappedTest.class,
+                CovariantPropertiesTest.class,
+                OptionalAnnotationTest.class,
+                ClassesTest.class,
+                InterfaceTest.class,
+                GenericsTest.class,
+                TaggedUnionsTest.class,
+                FastJackson2ParserTest.class);
+        for (Class<?> testClass : testClasses) {
+            for (Class<?> cls : testClass.getDeclaredClasses()) {
+                if (!cls.isAnnotation()) {
+                    assertSameOutput(cls);
+                }
+            }
+        }
+        assertSameOutput(DummyBean.class);
+        assertSameOutput(Person.class);
+    }
+
+    @Test
+    public void testJacksonRules() {
+        final String output = generate(JsonLibrary.jackson2Fast, RulesBean.class);
+        Assert.assertEquals(generate(JsonLibrary.jackson2, RulesBean.class), output);
+        Assert.assertTrue(output.contains("url: string;"));
+        Assert.assertTrue(output.contains("active: boolean;"));
+        Assert.assertTrue(output.contains("renamed: number;"));
+        Assert.assertTrue(output.contains("annotatedPrivate: string;"));
+        Assert.assertTrue(output.contains("nullable?: string;"));
+        Assert.assertFalse(output.contains("ignored"));
+        Assert.assertFalse(output.contains("transientField"));
+        Assert.assertFalse(output.contains("hidden"));
+        Assert.assertFalse(output.contains("secret"));
+        Assert.assertFalse(output.contains("privateField"));
+    }
+
+    @Test
+    public void testUnsupportedFeaturesUseJackson() {
+        assertSameOutput(BeanWithJsonValue.class);
+        assertSameOutput(BeanWithCreator.class);
+        assertSameOutput(BeanWithAutoDetect.class);
+    }
+
+    private static void assertSameOutput(Class<?> cls) {
+        Assert.assertEquals("Output for " + cls.getName(), generate(JsonLibrary.jackson2, cls), generate(JsonLibrary.jackson2Fast, cls));
+    }
+
+    private static String generate(JsonLibrary jsonLibrary, Class<?> cls) {
+        final Settings settings = TestUtils.settings();
+        settings.jsonLibrary = jsonLibrary;
+        settings.optionalAnnotations.add(Nullable.class);
+        return new TypeScriptGenerator(settings).generateTypeScript(Input.from(cls));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Nullable {
+    }
+
+    public interface Identified {
+        @JsonIgnore
+        public String getSecret();
+        public String getId();
+    }
+
+    @JsonIgnoreType
+    public static class HiddenType {
+        public String value;
+    }
+
+    public static abstract class Base<T> implements Identified {
+        public T value;
+        public String shared;
+    }
+
+    @JsonPropertyOrder({"id", "value"})
+    @JsonIgnoreProperties({"removed"})
+    public static class RulesBean extends Base<Integer> {
+        public String removed;
+        public transient String transientField;
+        @JsonIgnore
+        public String ignored;
+        @JsonProperty("renamed")
+        public int original;
+        @JsonProperty
+        private String annotatedPrivate;
+        private String privateField;
+        @Nullable
+        private String nullable;
+        public HiddenType hidden;
+        @Override
+        public String getSecret() {
+            return null;
+        }
+        @Override
+        public String getId() {
+            return null;
+        }
+        public String getURL() {
+            return null;
+        }
+        public boolean isActive() {
+            return false;
+        }
+        public String getNullable() {
+            return nullable;
+        }
+        public void setPrivateField(String privateField) {
+            this.privateField = privateField;
+        }
+    }
+
+    public static class BeanWithJsonValue {
+        public String text;
+        @JsonValue
+        public String getText() {
+            return text;
+        }
+    }
+
+    public static class BeanWithCreator {
+        public String name;
+        @JsonCreator
+        public BeanWithCreator(@JsonProperty("fullName") String name) {
+            this.name = name;
+        }
+    }
+
+    @JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.ANY)
+    public static class BeanWithAutoDetect {
+        private String hiddenByDefault;
+        public String visible;
+    }
+
+}
@@ -0,0 +1,71 @@
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.*;
+import java.util.*;
+import static org.junit.Assert.*;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+
+public class GenerationMetricsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStages() {
+        final GenerationMetrics metrics = new GenerationMetrics();
+        new TypeScriptGenerator(TestUtils.settings()).generateTypeScript(Input.from(A.class), Output.to(new StringWriter()), metrics);
+        final List<String> stageNames = new ArrayList<>();
+        for (GenerationMetrics.Stage stage : metrics.getStages()) {
+            stageNames.add(stage.getName());
+            assertTrue(stage.getWallTimeNanos() >= 0);
+        }
+        assertTrue(stageNames.contains("parsing"));
+        assertTrue(stageNames.contains("javadoc"));
+        assertTrue(stageNames.contains("compiler.processModel"));
+        assertTrue(stageNames.contains("compiler.sortDeclarations"));
+        assertTrue(stageNames.contains("emitting"));
+        final List<String> classNames = new ArrayList<>();
+        for (GenerationMetrics.ClassParsing classParsing : metrics.getSlowestClasses()) {
+            classNames.add(classParsing.getClassName());
+        }
+        assertTrue(classNames.contains(A.class.getName()));
+        assertTrue(classNames.contains(B.class.getName()));
+    }
+
+    @Test
+    public void testSlowestClassesCount() {
+        final GenerationMetrics metrics = new GenerationMetrics(1);
+        metrics.recordClassParsing(A.class, 10);
+        metrics.recordClassParsing(B.class, 20);
+        metrics.recordClassParsing(A.class, 15);
+        assertEquals(1, metrics.getSlowestClasses().size());
+        assertEquals(A.class.getName(), metrics.getSlowestClasses().get(0).getClassName());
+        assertEquals(25, metrics.getSlowestClasses().get(0).getWallTimeNanos());
+    }
+
+    @Test
+    public void testJson() throws IOException {
+        final Settings settings = TestUtils.settings();
+        settings.generateMetricsJson = true;
+        final File output = new File(folder.getRoot(), "test.d.ts");
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(A.class), Output.to(output));
+        final File metricsFile = new File(folder.getRoot(), "test.d.ts.metrics.json");
+        assertTrue(metricsFile.exists());
+        final JsonNode json = new ObjectMapper().readTree(metricsFile);
+        assertTrue(json.get("stages").size() > 0);
+        assertTrue(json.get("slowestClasses").size() > 0);
+    }
+
+    private static class A {
+        public B b;
+    }
+
+    private static class B {
+        public String text;
+    }
+
+}
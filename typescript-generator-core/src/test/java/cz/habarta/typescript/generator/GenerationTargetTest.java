@@ -0,0 +1,136 @@
+
+package cz.habarta.typescript.generator;
+
+import java.io.StringWriter;
+import java.lang.reflect.Type;
+import java.util.*;
+import javax.ws.rs.*;
+import static org.junit.Assert.*;
+import org.junit.*;
+
+
+public class GenerationTargetTest {
+
+    @Test
+    public void testSameOutputAsSeparateGenerations() {
+        final Settings declarations = TestUtils.settings();
+        final CountingTypeProcessor typeProcessor = new CountingTypeProcessor();
+        declarations.customTypeProcessor = typeProcessor;
+
+        final Settings implementation = declarations.copy();
+        implementation.outputKind = TypeScriptOutputKind.module;
+        implementation.outputFileType = TypeScriptFileType.implementationFile;
+        implementation.generateJaxrsApplicationClient = true;
+        implementation.mapDate = DateMapping.asString;
+
+        final Settings namespace = declarations.copy();
+        namespace.namespace = "NS";
+        namespace.mapEnum = EnumMapping.asNumberBasedEnum;
+
+        final Settings jackson1 = declarations.copy();
+        jackson1.jsonLibrary = JsonLibrary.jackson1;
+
+        final List<Settings> settingsList = Arrays.asList(declarations, implementation, namespace, jackson1);
+        final List<String> expected = new ArrayList<>();
+        for (Settings settings : settingsList) {
+            expected.add(new TypeScriptGenerator(settings).generateTypeScript(Input.from(BookResource.class)));
+        }
+        final int separateCount = typeProcessor.reset();
+
+        final Input input = Input.from(BookResource.class);
+        final List<GenerationTarget> targets = new ArrayList<>();
+        final List<StringWriter> writers = new ArrayList<>();
+        for (Settings settings : settingsList) {
+            final StringWriter writer = new StringWriter();
+            writers.add(writer);
+            targets.add(new GenerationTarget(settings, Output.to(writer)));
+        }
+        TypeScriptGenerator.generateTypeScript(input, targets);
+        // model is parsed once for Jackson2 targets and once for Jackson1 target instead of once per target
+        assertEquals(settingsList.size() - 2, separateCount - typeProcessor.reset());
+
+        for (int i = 0; i < settingsList.size(); i++) {
+            assertEquals(expected.get(i), writers.get(i).toString());
+        }
+        assertTrue(writers.get(0).toString().contains("published: Date;"));
+        assertTrue(writers.get(1).toString().contains("published: DateAsString;"));
+        assertTrue(writers.get(1).toString().contains("class RestApplicationClient"));
+        assertTrue(writers.get(2).toString().contains("namespace NS {"));
+    }
+
+    @Test
+    public void testCopy() {
+        final Settings settings = TestUtils.settings();
+        settings.setExcludeFilter(Arrays.asList("java.lang.Object"), null);
+        final Settings copy = settings.copy();
+        copy.namespace = "NS";
+        assertNull(settings.namespace);
+        assertSame(settings.getExcludeFilter(), copy.getExcludeFilter());
+        assertEquals(Arrays.asList("java.lang.Object"), copy.getExcludedClasses());
+        assertEquals(Collections.<String>emptyList(), copy.getExcludedClassPatterns());
+        assertEquals(settings.outputKind, copy.outputKind);
+        assertEquals(settings.newline, copy.newline);
+    }
+
+    @Test
+    public void testEqualExcludeListsShareParsing() {
+        final Settings settings1 = TestUtils.settings();
+        final CountingTypeProcessor typeProcessor = new CountingTypeProcessor();
+        settings1.customTypeProcessor = typeProcessor;
+        final Settings settings2 = settings1.copy();
+        settings1.setExcludeFilter(Arrays.asList("java.lang.Object"), null);
+        settings2.setExcludeFilter(Arrays.asList("java.lang.Object"), Collections.<String>emptyList());
+        settings2.namespace = "NS";
+        new TypeScriptGenerator(settings1).generateTypeScript(Input.from(BookResource.class));
+        new TypeScriptGenerator(settings2).generateTypeScript(Input.from(BookResource.class));
+        final int separateCount = typeProcessor.reset();
+
+        TypeScriptGenerator.generateTypeScript(Input.from(BookResource.class), Arrays.asList(
+                new GenerationTarget(settings1, Output.to(new StringWriter())),
+                new GenerationTarget(settings2, Output.to(new StringWriter()))));
+        // separately created but equal exclude filters don't prevent sharing parsed model
+        assertEquals(1, separateCount - typeProcessor.reset());
+    }
+
+    /**
+     * Counts how many times Book class is processed, parser processes it once in each parsing (type processor cache is enabled).
+     */
+    private static class CountingTypeProcessor implements TypeProcessor {
+
+        private int count = 0;
+
+        @Override
+        public synchronized TypeProcessor.Result processType(Type javaType, TypeProcessor.Context context) {
+            if (javaType.equals(Book.class)) {
+                count++;
+            }
+            return null;
+        }
+
+        public synchronized int reset() {
+            final int result = count;
+            count = 0;
+            return result;
+        }
+
+    }
+
+    @Path("books")
+    private static class BookResource {
+        @GET
+        public List<Book> getBooks(@QueryParam("genre") Genre genre) {
+            return null;
+        }
+    }
+
+    private static class Book {
+        public String title;
+        public Date published;
+        public Genre genre;
+    }
+
+    private static enum Genre {
+        Fiction, Poetry
+    }
+
+}
@@ -0,0 +1,148 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.emitter.*;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.*;
+import static org.junit.Assert.*;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+
+public class IncrementalCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSkipsGenerationWhenNothingChanged() throws IOException {
+        final File output = new File(folder.getRoot(), "test.d.ts");
+        final File cache = new File(folder.getRoot(), "test.d.ts.cache");
+
+        generate(settings(cache), Input.from(A.class), output);
+        assertTrue(read(output).contains("interface A"));
+        assertTrue(cache.exists());
+
+        write(output, "marker");
+        generate(settings(cache), Input.from(A.class), output);
+        assertEquals("marker", read(output));
+    }
+
+    @Test
+    public void testRegeneratesWhenSettingsChanged() throws IOException {
+        final File output = new File(folder.getRoot(), "test.d.ts");
+        final File cache = new File(folder.getRoot(), "test.d.ts.cache");
+
+        generate(settings(cache), Input.from(A.class), output);
+        write(output, "marker");
+        final Settings settings = settings(cache);
+        settings.addTypeNamePrefix = "I";
+        generate(settings, Input.from(A.class), output);
+        assertTrue(read(output).contains("interface IA"));
+    }
+
+    @Test
+    public void testRegeneratesWhenInputChanged() throws IOException {
+        final File output = new File(folder.getRoot(), "test.d.ts");
+        final File cache = new File(folder.getRoot(), "test.d.ts.cache");
+
+        generate(settings(cache), Input.from(A.class), output);
+        write(output, "marker");
+        generate(settings(cache), Input.from(A.class, C.class), output);
+        assertTrue(read(output).contains("interface C"));
+    }
+
+    @Test
+    public void testRegeneratesWhenBytecodeChanged() throws IOException {
+        final File output = new File(folder.getRoot(), "test.d.ts");
+        final File cache = new File(folder.getRoot(), "test.d.ts.cache");
+
+        generate(settings(cache), Input.from(A.class), output);
+        final Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(cache)) {
+            properties.load(inputStream);
+        }
+        assertNotNull(properties.getProperty("class." + B.class.getName()));
+        properties.setProperty("class." + B.class.getName(), "changed");
+        try (OutputStream outputStream = new FileOutputStream(cache)) {
+            properties.store(outputStream, null);
+        }
+        write(output, "marker");
+        generate(settings(cache), Input.from(A.class), output);
+        assertTrue(read(output).contains("interface B"));
+    }
+
+    @Test
+    public void testRegeneratesWhenExtensionConfigurationChanged() throws IOException {
+        final File output = new File(folder.getRoot(), "test.d.ts");
+        final File cache = new File(folder.getRoot(), "test.d.ts.cache");
+
+        final Settings settings1 = settings(cache);
+        settings1.extensions.add(new CommentExtension("first"));
+        generate(settings1, Input.from(A.class), output);
+        assertTrue(read(output).contains("// first"));
+
+        final Settings settings2 = settings(cache);
+        settings2.extensions.add(new CommentExtension("second"));
+        generate(settings2, Input.from(A.class), output);
+        assertTrue(read(output).contains("// second"));
+
+        write(output, "marker");
+        final Settings settings3 = settings(cache);
+        settings3.extensions.add(new CommentExtension("second"));
+        generate(settings3, Input.from(A.class), output);
+        assertEquals("marker", read(output));
+    }
+
+    private static Settings settings(File cache) {
+        final Settings settings = TestUtils.settings();
+        settings.incrementalCacheFile = cache;
+        return settings;
+    }
+
+    private static void generate(Settings settings, Input input, File output) {
+        new TypeScriptGenerator(settings).generateTypeScript(input, Output.to(output));
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), Charset.forName("UTF-8"));
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(Charset.forName("UTF-8")));
+    }
+
+    private static class CommentExtension extends EmitterExtension {
+
+        private final String comment;
+
+        public CommentExtension(String comment) {
+            this.comment = comment;
+        }
+
+        @Override
+        public EmitterExtensionFeatures getFeatures() {
+            return new EmitterExtensionFeatures();
+        }
+
+        @Override
+        public void emitElements(Writer writer, Settings settings, boolean exportKeyword, TsModel model) {
+            writer.writeIndentedLine("// " + comment);
+        }
+
+    }
+
+    private static class A {
+        public B b;
+    }
+
+    private static class B {
+        public String text;
+    }
+
+    private static class C {
+        public String text;
+    }
+
+}
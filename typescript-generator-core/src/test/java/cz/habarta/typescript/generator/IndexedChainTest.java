@@ -0,0 +1,49 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.compiler.SymbolTable;
+import java.lang.reflect.Type;
+import java.util.*;
+import static org.junit.Assert.*;
+import org.junit.Test;
+
+
+public class IndexedChainTest {
+
+    @Test
+    public void testRestrictedProcessorsAreSkipped() throws NoSuchFieldException {
+        final List<Type> processedTypes = new ArrayList<>();
+        final TypeProcessor restricted = new TypeProcessor.RawClassRestricted() {
+            @Override
+            public boolean isApplicableTo(Class<?> rawClass) {
+                return List.class.isAssignableFrom(rawClass);
+            }
+            @Override
+            public TypeProcessor.Result processType(Type javaType, TypeProcessor.Context context) {
+                processedTypes.add(javaType);
+                return new TypeProcessor.Result(new TsType.BasicType("CustomList"));
+            }
+        };
+        final Map<String, String> customMappings = new LinkedHashMap<>();
+        customMappings.put(Date.class.getName(), "DateString");
+        final TypeProcessor chain = new TypeProcessor.IndexedChain(
+                new ExcludingTypeProcessor(Settings.createExcludeFilter(Arrays.asList(Locale.class.getName()), null)),
+                restricted,
+                new CustomMappingTypeProcessor(customMappings),
+                new DefaultTypeProcessor());
+        final TypeProcessor.Context context = new TypeProcessor.Context(new SymbolTable(TestUtils.settings()), chain);
+
+        assertEquals("CustomList", context.processType(ArrayList.class).getTsType().toString());
+        assertEquals("CustomList", context.processType(Bean.class.getField("list").getGenericType()).getTsType().toString());
+        assertEquals("DateString", context.processType(Date.class).getTsType().toString());
+        assertEquals(TsType.Any, context.processType(Locale.class).getTsType());
+        assertEquals(TsType.String, context.processType(String.class).getTsType());
+        assertEquals("string[]", context.processType(Bean.class.getField("set").getGenericType()).getTsType().toString());
+        assertEquals(2, processedTypes.size());
+    }
+
+    public static class Bean {
+        public List<String> list;
+        public Set<String> set;
+    }
+
+}
@@ -68,4 +68,27 @@ public class InputTest {
         Assert.assertEquals("\\Qcz.habarta.test.\\E[^.\\$]*\\Q\\E", Input.globToRegexp("cz.habarta.test.*").toString());
     }
 
+    @Test
+    public void testPackagePrefixes() {
+        Assert.assertEquals(Arrays.asList("com.acme.api"), Input.getPackagePrefixes(Arrays.asList("com.acme.api.**")));
+        Assert.assertEquals(Arrays.asList("com.acme.api"), Input.getPackagePrefixes(Arrays.asList("com.acme.api.*Dto", "com.acme.api.sub.*")));
+        Assert.assertEquals(Arrays.asList("com", "org.example"), Input.getPackagePrefixes(Arrays.asList("org.example.Json", "com.acme.api.*", "com.acme*.**")));
+        Assert.assertEquals(Arrays.asList(), Input.getPackagePrefixes(Arrays.asList("com.acme.api.**", "**Json")));
+        Assert.assertEquals(Arrays.asList(), Input.getPackagePrefixes(Arrays.asList("Json")));
+    }
+
+    @Test
+    public void testRestrictedScan() {
+        final ClasspathScanResult result = ClasspathScanCache.scan(Arrays.asList("cz.habarta.typescript.generator.ext"), false, null);
+        Assert.assertTrue(result.standardClassNames.contains("cz.habarta.typescript.generator.ext.AxiosClientExtension"));
+        Assert.assertTrue(!result.standardClassNames.contains(InputTest.class.getName()));
+    }
+
+    @Test
+    public void testDirectoriesOnlyScan() {
+        final ClasspathScanResult result = ClasspathScanCache.scan(Arrays.<String>asList(), true, null);
+        Assert.assertTrue(result.standardClassNames.contains(InputTest.class.getName()));
+        Assert.assertTrue(!result.standardClassNames.contains(Assert.class.getName()));
+    }
+
 }
@@ -21,6 +21,30 @@ public class Jackson2ParserTest {
         Assert.assertEquals("firstProperty", beanModel.getProperties().get(0).getName());
     }
 
+    @Test
+    public void testRepeatedParsing() {
+        final Jackson2Parser jacksonParser = getJackson2Parser();
+        final BeanModel beanModel1 = jacksonParser.parseModel(DummyBean.class).getBean(DummyBean.class);
+        final BeanModel beanModel2 = jacksonParser.parseModel(DummyBean.class).getBean(DummyBean.class);
+        Assert.assertEquals(beanModel1.getProperties().size(), beanModel2.getProperties().size());
+        for (int i = 0; i < beanModel1.getProperties().size(); i++) {
+            Assert.assertEquals(beanModel1.getProperties().get(i).getName(), beanModel2.getProperties().get(i).getName());
+            Assert.assertEquals(beanModel1.getProperties().get(i).getType(), beanModel2.getProperties().get(i).getType());
+        }
+    }
+
+    @Test
+    public void testBeanIntrospectionIsReusedByNextParsing() {
+        final Jackson2Parser jacksonParser = getJackson2Parser();
+        final BeanModel beanModel1 = jacksonParser.parseModel(DummyBean.class).getBean(DummyBean.class);
+        final BeanModel beanModel2 = jacksonParser.parseModel(DummyBean.class).getBean(DummyBean.class);
+        // new introspection would find new reflection objects
+        Assert.assertNotNull(beanModel1.getProperties().get(0).getOriginalMember());
+        Assert.assertSame(beanModel1.getProperties().get(0).getOriginalMember(), beanModel2.getProperties().get(0).getOriginalMember());
+        final BeanModel beanModel3 = getJackson2Parser().parseModel(DummyBean.class).getBean(DummyBean.class);
+        Assert.assertNotSame(beanModel1.getProperties().get(0).getOriginalMember(), beanModel3.getProperties().get(0).getOriginalMember());
+    }
+
     @Test
     public void testChangedNameProperty() {
         final Jackson2Parser jacksonParser = getJackson2Parser();
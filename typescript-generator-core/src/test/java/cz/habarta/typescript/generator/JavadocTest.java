@@ -0,0 +1,117 @@
+
+package cz.habarta.typescript.generator;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+
+public class JavadocTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testComments() throws IOException {
+        final String prefix = JavadocTest.class.getName() + ".";
+        final File file = writeFile("javadoc.xml",
+                "<?xml version=\"1.0\" encoding=\"UTF-8\"?>",
+                "<root>",
+                "  <package name=\"cz.habarta.typescript.generator\">",
+                "    <class name=\"Unused\" qualified=\"" + prefix + "Unused\">",
+                "      <comment>Unused class</comment>",
+                "    </class>",
+                "    <class name=\"ClassWithJavadoc\" qualified=\"" + prefix + "ClassWithJavadoc\">",
+                "      <comment>Documented class</comment>",
+                "      <tag name=\"@author\" text=\"me\"/>",
+                "      <field name=\"name\" qualified=\"java.lang.String\">",
+                "        <comment>Documented field</comment>",
+                "      </field>",
+                "      <method name=\"getSize\">",
+                "        <comment>Documented getter</comment>",
+                "      </method>",
+                "    </class>",
+                "    <interface name=\"InterfaceWithJavadoc\" qualified=\"" + prefix + "InterfaceWithJavadoc\">",
+                "      <comment>Documented interface</comment>",
+                "    </interface>",
+                "    <enum name=\"EnumWithJavadoc\" qualified=\"" + prefix + "EnumWithJavadoc\">",
+                "      <comment>Documented enum</comment>",
+                "    </enum>",
+                "  </package>",
+                "</root>");
+        final Settings settings = TestUtils.settings();
+        settings.javadocXmlFiles = Arrays.asList(file);
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(ClassWithJavadoc.class));
+        Assert.assertTrue(output.contains("Documented class"));
+        Assert.assertTrue(output.contains("@author me"));
+        Assert.assertTrue(output.contains("Documented field"));
+        Assert.assertTrue(output.contains("Documented getter"));
+        Assert.assertTrue(output.contains("Documented interface"));
+        Assert.assertTrue(output.contains("Documented enum"));
+        Assert.assertFalse(output.contains("Unused class"));
+    }
+
+    @Test
+    public void testFirstFileWins() throws IOException {
+        final String qualified = JavadocTest.class.getName() + ".InterfaceWithJavadoc";
+        final File file1 = writeFile("javadoc1.xml",
+                "<root><package name=\"p\"><interface name=\"InterfaceWithJavadoc\" qualified=\"" + qualified + "\"><comment>First file</comment></interface></package></root>");
+        final File file2 = writeFile("javadoc2.xml",
+                "<root><package name=\"p\"><interface name=\"InterfaceWithJavadoc\" qualified=\"" + qualified + "\"><comment>Second file</comment></interface></package></root>");
+        final Settings settings = TestUtils.settings();
+        settings.javadocXmlFiles = Arrays.asList(file1, file2);
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(InterfaceWithJavadoc.class));
+        Assert.assertTrue(output.contains("First file"));
+        Assert.assertFalse(output.contains("Second file"));
+    }
+
+    @Test
+    public void testSharedGenerator() throws IOException {
+        final String prefix = JavadocTest.class.getName() + ".";
+        final File file = writeFile("javadoc.xml",
+                "<root><package name=\"p\">",
+                "<interface name=\"InterfaceWithJavadoc\" qualified=\"" + prefix + "InterfaceWithJavadoc\"><comment>Documented interface</comment></interface>",
+                "<enum name=\"EnumWithJavadoc\" qualified=\"" + prefix + "EnumWithJavadoc\"><comment>Documented enum</comment></enum>",
+                "</package></root>");
+        final Settings settings = TestUtils.settings();
+        settings.javadocXmlFiles = Arrays.asList(file);
+        final TypeScriptGenerator generator = new TypeScriptGenerator(settings);
+        final String output1 = generator.generateTypeScript(Input.from(EnumWithJavadoc.class));
+        Assert.assertTrue(output1.contains("Documented enum"));
+        Assert.assertFalse(output1.contains("Documented interface"));
+        // types are loaded again for each model
+        final String output2 = generator.generateTypeScript(Input.from(InterfaceWithJavadoc.class));
+        Assert.assertTrue(output2.contains("Documented interface"));
+        Assert.assertTrue(output2.contains("Documented enum"));
+    }
+
+    private File writeFile(String name, String... lines) throws IOException {
+        final File file = folder.newFile(name);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write("\n");
+            }
+        }
+        return file;
+    }
+
+    private static class ClassWithJavadoc {
+        public String name;
+        public InterfaceWithJavadoc child;
+        public int getSize() {
+            return 0;
+        }
+    }
+
+    private static interface InterfaceWithJavadoc {
+        public EnumWithJavadoc getKind();
+    }
+
+    private static enum EnumWithJavadoc {
+        First, Second
+    }
+
+}
@@ -0,0 +1,97 @@
+
+package cz.habarta.typescript.generator;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import static org.junit.Assert.*;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+
+public class OutputDirectoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testModules() throws IOException {
+        final File directory = folder.newFolder("ts");
+        new TypeScriptGenerator(settings()).generateTypeScript(Input.from(Order.class), Output.toDirectory(directory));
+
+        final String orders = read(new File(directory, "orders.d.ts"));
+        assertTrue(orders.contains("import { DateAsString } from \"./common\";"));
+        assertTrue(orders.contains("import { Customer } from \"./customers\";"));
+        assertTrue(orders.contains("import { Status } from \"./cz.habarta.typescript.generator\";"));
+        assertTrue(orders.contains("export interface Order {"));
+        assertFalse(orders.contains("interface Customer"));
+
+        final String customers = read(new File(directory, "customers.d.ts"));
+        assertTrue(customers.contains("export interface Customer {"));
+        assertFalse(customers.contains("import"));
+
+        assertTrue(read(new File(directory, "cz.habarta.typescript.generator.d.ts")).contains("export type Status = "));
+        assertTrue(read(new File(directory, "common.d.ts")).contains("export type DateAsString = string;"));
+
+        final String index = read(new File(directory, "index.d.ts"));
+        assertTrue(index.contains(
+                "export * from \"./common\";\n" +
+                "export * from \"./customers\";\n" +
+                "export * from \"./cz.habarta.typescript.generator\";\n" +
+                "export * from \"./orders\";\n"));
+    }
+
+    @Test
+    public void testUnchangedFilesNotWritten() throws IOException {
+        final File directory = folder.newFolder("ts");
+        new TypeScriptGenerator(settings()).generateTypeScript(Input.from(Order.class), Output.toDirectory(directory));
+        final File customersFile = new File(directory, "customers.d.ts");
+        final File ordersFile = new File(directory, "orders.d.ts");
+        assertTrue(customersFile.setLastModified(0));
+        assertTrue(ordersFile.setLastModified(0));
+        new TypeScriptGenerator(settings()).generateTypeScript(Input.from(Order.class), Output.toDirectory(directory));
+        assertEquals(0, customersFile.lastModified());
+        assertEquals(0, ordersFile.lastModified());
+        final Settings settings = settings();
+        settings.declarePropertiesAsOptional = true;
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(Order.class), Output.toDirectory(directory));
+        assertTrue(ordersFile.lastModified() != 0);
+        assertTrue(read(ordersFile).contains("customer?: Customer;"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testGlobalOutputNotSupported() {
+        final Settings settings = settings();
+        settings.outputKind = TypeScriptOutputKind.global;
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(Order.class), Output.toDirectory(folder.getRoot()));
+    }
+
+    private static Settings settings() {
+        final Settings settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.mapDate = DateMapping.asString;
+        settings.outputModuleMappings.put(OutputDirectoryTest.class.getName() + "$Order", "orders");
+        settings.outputModuleMappings.put(OutputDirectoryTest.class.getName() + "$Customer", "customers");
+        return settings;
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private static class Order {
+        public Customer customer;
+        public List<Status> history;
+        public Date created;
+    }
+
+    private static class Customer {
+        public String name;
+    }
+
+    private static enum Status {
+        Created, Paid
+    }
+
+}
@@ -0,0 +1,72 @@
+package cz.habarta.typescript.generator;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import static org.junit.Assert.*;
+import org.junit.*;
+import org.junit.rules.TemporaryFolder;
+
+
+public class OutputTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testSkipUnchanged() throws IOException {
+        final Settings settings = TestUtils.settings();
+        settings.noFileComment = false;
+        final File output = new File(folder.getRoot(), "test.d.ts");
+
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(A.class), Output.to(output, true));
+        final String content = read(output);
+        assertTrue(content.startsWith("// Generated using typescript-generator"));
+        assertTrue(content.contains("interface A"));
+
+        // same content with different timestamp
+        final String modifiedContent = content.replaceFirst("on [^\\n]*\\.", "on 2000-01-01 00:00:00.");
+        write(output, modifiedContent);
+        assertTrue(output.setLastModified(1000000000000L));
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(A.class), Output.to(output, true));
+        assertEquals(modifiedContent, read(output));
+        assertEquals(1000000000000L, output.lastModified());
+
+        // different content
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(A.class, B.class), Output.to(output, true));
+        assertTrue(read(output).contains("interface B"));
+        assertTrue(output.lastModified() != 1000000000000L);
+    }
+
+    @Test
+    public void testSinks() throws IOException {
+        final Settings settings = TestUtils.settings();
+        final File bufferedOutput = new File(folder.getRoot(), "buffered.d.ts");
+        final File inMemoryOutput = new File(folder.getRoot(), "inMemory.d.ts");
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(A.class), Output.to(bufferedOutput, Output.Sink.buffered));
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(A.class), Output.to(inMemoryOutput, Output.Sink.inMemory));
+        assertTrue(read(bufferedOutput).contains("interface A"));
+        assertEquals(read(bufferedOutput), read(inMemoryOutput));
+
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(A.class), Output.to(outputStream));
+        assertEquals(read(bufferedOutput), new String(outputStream.toByteArray(), Charset.forName("UTF-8")));
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), Charset.forName("UTF-8"));
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(Charset.forName("UTF-8")));
+    }
+
+    private static class A {
+        public String text;
+    }
+
+    private static class B {
+        public String text;
+    }
+
+}
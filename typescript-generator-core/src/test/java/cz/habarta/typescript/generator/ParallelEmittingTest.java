@@ -0,0 +1,95 @@
+
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.*;
+import javax.ws.rs.*;
+import static org.junit.Assert.*;
+import org.junit.*;
+
+
+public class ParallelEmittingTest {
+
+    @Test
+    public void testGlobal() {
+        assertSameOutput(TestUtils.settings());
+    }
+
+    @Test
+    public void testNamespaceInModule() {
+        final Settings settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.namespace = "NS";
+        settings.mapEnum = EnumMapping.asNumberBasedEnum;
+        assertSameOutput(settings);
+    }
+
+    @Test
+    public void testJaxrsClient() {
+        final Settings settings = TestUtils.settings();
+        settings.outputKind = TypeScriptOutputKind.module;
+        settings.outputFileType = TypeScriptFileType.implementationFile;
+        settings.generateJaxrsApplicationClient = true;
+        settings.mapDate = DateMapping.asString;
+        assertSameOutput(settings);
+    }
+
+    private static void assertSameOutput(Settings settings) {
+        final Input input = Input.from(BookResource.class, Book.class, Author.class, Genre.class, Rating.class);
+        final String sequential = new TypeScriptGenerator(settings).generateTypeScript(input);
+        settings.parallelEmitting = true;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(sequential, new TypeScriptGenerator(settings).generateTypeScript(input));
+        }
+        assertTrue(sequential.contains("interface Book"));
+    }
+
+    @Path("books")
+    private static class BookResource {
+        @GET
+        @Path("{id}")
+        public Book getBook(@PathParam("id") long id) {
+            return null;
+        }
+        @POST
+        public void addBook(Book book) {
+        }
+        @GET
+        public List<Book> findBooks(@QueryParam("genre") Genre genre) {
+            return null;
+        }
+    }
+
+    private static class Book {
+        public String title;
+        public List<Author> authors;
+        public Map<String, Rating> ratings;
+        public Genre genre;
+        public Date published;
+    }
+
+    private static class Author {
+        public String name;
+        public Book[] books;
+    }
+
+    private static enum Genre {
+        Fiction, Science, History
+    }
+
+    private static enum Rating {
+        Bad(1), Good(2);
+
+        private final int value;
+
+        private Rating(int value) {
+            this.value = value;
+        }
+
+        @JsonValue
+        public int getValue() {
+            return value;
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.annotation.*;
+import java.util.*;
+import static org.junit.Assert.*;
+import org.junit.*;
+
+public class ParallelParsingTest {
+
+    @Test
+    public void testJackson2() {
+        assertSameOutput(JsonLibrary.jackson2);
+    }
+
+    @Test
+    public void testJackson1() {
+        assertSameOutput(JsonLibrary.jackson1);
+    }
+
+    @Test
+    public void testPolymorphism() {
+        final Settings settings = TestUtils.settings();
+        settings.parallelParsing = true;
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(Shape.class));
+        assertTrue(output.contains("interface Square extends Shape"));
+        assertTrue(output.contains("interface Circle extends Shape"));
+    }
+
+    private static void assertSameOutput(JsonLibrary jsonLibrary) {
+        final Input input = Input.from(Root.class, Other.class, Shape.class);
+        final Settings sequentialSettings = TestUtils.settings();
+        sequentialSettings.jsonLibrary = jsonLibrary;
+        final Settings parallelSettings = TestUtils.settings();
+        parallelSettings.jsonLibrary = jsonLibrary;
+        parallelSettings.parallelParsing = true;
+        final String sequential = new TypeScriptGenerator(sequentialSettings).generateTypeScript(input);
+        for (int i = 0; i < 5; i++) {
+            final String parallel = new TypeScriptGenerator(parallelSettings).generateTypeScript(input);
+            assertEquals(sequential, parallel);
+        }
+        assertTrue(sequential.contains("interface Root"));
+        assertTrue(sequential.contains("type Color"));
+    }
+
+    private static class Root {
+        public A a;
+        public List<B> bs;
+        public Map<String, C> cs;
+        public Color color;
+        public Shape shape;
+    }
+
+    private static class Other {
+        public C c;
+        public D d;
+        public Root root;
+    }
+
+    private static class A extends Base {
+        public B b;
+        public D d;
+    }
+
+    private static class B implements Named {
+        public String name;
+        public C c;
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static class C extends Base {
+        public Color color;
+        public E e;
+    }
+
+    private static class D {
+        public E e;
+        public A a;
+    }
+
+    private static class E {
+        public List<Color> colors;
+    }
+
+    private static class Base {
+        public String id;
+    }
+
+    private interface Named {
+        public String getName();
+    }
+
+    private enum Color {
+        Red, Green, Blue
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "kind")
+    @JsonSubTypes({
+        @JsonSubTypes.Type(value = Square.class, name = "square"),
+        @JsonSubTypes.Type(value = Circle.class, name = "circle"),
+    })
+    private static class Shape {
+    }
+
+    private static class Square extends Shape {
+        public double size;
+    }
+
+    private static class Circle extends Shape {
+        public double radius;
+    }
+
+}
@@ -0,0 +1,109 @@
+
+package cz.habarta.typescript.generator;
+
+import com.fasterxml.jackson.annotation.*;
+import java.lang.annotation.*;
+import java.util.*;
+import org.junit.*;
+
+
+public class RemoveUnreachableTypesTest {
+
+    @Test
+    public void testRootClasses() {
+        final Settings settings = TestUtils.settings();
+        settings.removeUnreachableTypes = true;
+        settings.reachabilityRootClasses = Arrays.asList("**RemoveUnreachableTypesTest$Order");
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(Order.class, Customer.class, Address.class, Status.class, Unused.class));
+        Assert.assertTrue(output.contains("interface Order"));
+        Assert.assertTrue(output.contains("interface Customer"));
+        Assert.assertTrue(output.contains("interface Address"));
+        Assert.assertTrue(output.contains("type Status"));
+        Assert.assertFalse(output.contains("Unused"));
+    }
+
+    @Test
+    public void testRootAnnotations() {
+        final Settings settings = TestUtils.settings();
+        settings.removeUnreachableTypes = true;
+        settings.reachabilityRootAnnotations = Arrays.<Class<? extends Annotation>>asList(Root.class);
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(Order.class, Customer.class, Address.class, Status.class, Unused.class));
+        Assert.assertFalse(output.contains("interface Order"));
+        Assert.assertFalse(output.contains("type Status"));
+        Assert.assertFalse(output.contains("Unused"));
+        Assert.assertTrue(output.contains("interface Customer"));
+        Assert.assertTrue(output.contains("interface Address"));
+    }
+
+    @Test
+    public void testTaggedUnionSubclassesReachable() {
+        final Settings settings = TestUtils.settings();
+        settings.removeUnreachableTypes = true;
+        settings.reachabilityRootClasses = Arrays.asList("**RemoveUnreachableTypesTest$Shape");
+        final String output = new TypeScriptGenerator(settings).generateTypeScript(Input.from(Shape.class, Unused.class));
+        Assert.assertTrue(output.contains("interface Shape"));
+        Assert.assertTrue(output.contains("interface Square"));
+        Assert.assertTrue(output.contains("interface Circle"));
+        Assert.assertTrue(output.contains("type ShapeUnion"));
+        Assert.assertFalse(output.contains("Unused"));
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        final String output = new TypeScriptGenerator(TestUtils.settings()).generateTypeScript(Input.from(Order.class, Unused.class));
+        Assert.assertTrue(output.contains("interface Unused"));
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void testRootsRequired() {
+        final Settings settings = TestUtils.settings();
+        settings.removeUnreachableTypes = true;
+        new TypeScriptGenerator(settings).generateTypeScript(Input.from(Order.class));
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    private static @interface Root {
+    }
+
+    private static class Order {
+        public Customer customer;
+        public List<Status> statusHistory;
+    }
+
+    @Root
+    private static class Customer {
+        public Map<String, Address> addresses;
+    }
+
+    private static class Address {
+        public String street;
+    }
+
+    private static enum Status {
+        Created, Shipped
+    }
+
+    private static class Unused {
+        public String name;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.PROPERTY, property = "kind")
+    @JsonSubTypes({
+        @JsonSubTypes.Type(Square.class),
+        @JsonSubTypes.Type(Circle.class),
+    })
+    private static abstract class Shape {
+    }
+
+    @JsonTypeName("square")
+    private static class Square extends Shape {
+        public double size;
+    }
+
+    @JsonTypeName("circle")
+    private static class Circle extends Shape {
+        public double radius;
+    }
+
+}
@@ -0,0 +1,90 @@
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.compiler.Symbol;
+import cz.habarta.typescript.generator.compiler.SymbolTable;
+import cz.habarta.typescript.generator.emitter.*;
+import java.util.*;
+import org.junit.*;
+
+
+public class TsModelTest {
+
+    @Test
+    public void testBeanIndex() {
+        final TsModel tsModel = new TsModel();
+        Assert.assertNull(tsModel.getBean(A.class));
+        final TsBeanModel a1 = bean(A.class);
+        final TsBeanModel a2 = bean(A.class);
+        final TsBeanModel b = bean(B.class);
+        tsModel.getBeans().add(a1);
+        tsModel.getBeans().add(a2);
+        Assert.assertSame(a1, tsModel.getBean(A.class));
+        Assert.assertNull(tsModel.getBean(B.class));
+        tsModel.getBeans().add(b);
+        Assert.assertSame(b, tsModel.getBean(B.class));
+        Assert.assertNull(tsModel.getBean(null));
+
+        final TsModel copy = tsModel.setEnums(new ArrayList<TsEnumModel<?>>());
+        Assert.assertSame(b, copy.getBean(B.class));
+        final TsModel copy2 = tsModel.setBeans(Arrays.asList(a2));
+        Assert.assertSame(a2, copy2.getBean(A.class));
+        Assert.assertNull(copy2.getBean(B.class));
+    }
+
+    @Test
+    public void testIndexIsInvalidatedBySameSizeModifications() {
+        final TsModel tsModel = new TsModel();
+        final TsBeanModel a = bean(A.class);
+        final TsBeanModel b = bean(B.class);
+        tsModel.getBeans().add(a);
+        Assert.assertSame(a, tsModel.getBean(A.class));
+        tsModel.getBeans().set(0, b);
+        Assert.assertNull(tsModel.getBean(A.class));
+        Assert.assertSame(b, tsModel.getBean(B.class));
+        tsModel.getBeans().remove(0);
+        tsModel.getBeans().add(a);
+        Assert.assertSame(a, tsModel.getBean(A.class));
+        Assert.assertNull(tsModel.getBean(B.class));
+        final ListIterator<TsBeanModel> iterator = tsModel.getBeans().listIterator();
+        iterator.next();
+        iterator.set(b);
+        Assert.assertSame(b, tsModel.getBean(B.class));
+
+        // models sharing bean list see its modifications
+        final TsModel copy = tsModel.setTypeAliases(new ArrayList<TsAliasModel>());
+        Assert.assertSame(b, copy.getBean(B.class));
+        tsModel.getBeans().set(0, a);
+        Assert.assertSame(a, copy.getBean(A.class));
+        Assert.assertNull(copy.getBean(B.class));
+    }
+
+    @Test
+    public void testTypeAliasIndex() {
+        final TsModel tsModel = new TsModel();
+        final TsAliasModel alias = new TsAliasModel(A.class, new Symbol("A"), null, TsType.String, null);
+        tsModel.getTypeAliases().add(alias);
+        Assert.assertSame(alias, tsModel.getTypeAlias(A.class));
+        Assert.assertNull(tsModel.getTypeAlias(B.class));
+    }
+
+    @Test
+    public void testSymbolClass() {
+        final SymbolTable symbolTable = new SymbolTable(TestUtils.settings());
+        final Symbol a = symbolTable.getSymbol(A.class);
+        final Symbol aSuffix = symbolTable.getSymbol(A.class, "Suffix");
+        Assert.assertSame(A.class, symbolTable.getSymbolClass(a));
+        Assert.assertSame(A.class, symbolTable.getSymbolClass(aSuffix));
+        Assert.assertNull(symbolTable.getSymbolClass(new Symbol("A")));
+    }
+
+    private static TsBeanModel bean(Class<?> origin) {
+        return new TsBeanModel(origin, false, new Symbol(origin.getSimpleName()), null, null, null, null, null, null, null, null);
+    }
+
+    private static class A {
+    }
+
+    private static class B {
+    }
+
+}
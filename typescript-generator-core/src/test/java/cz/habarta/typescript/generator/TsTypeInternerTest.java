@@ -0,0 +1,77 @@
+
+package cz.habarta.typescript.generator;
+
+import cz.habarta.typescript.generator.compiler.Symbol;
+import cz.habarta.typescript.generator.compiler.TsTypeInterner;
+import cz.habarta.typescript.generator.emitter.*;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class TsTypeInternerTest {
+
+    @Test
+    public void testStructurallyEqualTypes() {
+        final TsTypeInterner interner = new TsTypeInterner();
+        final Symbol a = new Symbol("A");
+        final TsType type1 = interner.intern(new TsType.BasicArrayType(new TsType.GenericReferenceType(a, new TsType.ReferenceType(a), TsType.String)));
+        final TsType type2 = interner.intern(new TsType.BasicArrayType(new TsType.GenericReferenceType(a, new TsType.ReferenceType(a), TsType.String)));
+        Assert.assertSame(type1, type2);
+        Assert.assertSame(TsType.String, interner.intern(TsType.String));
+        Assert.assertSame(interner.intern(new TsType.BasicType("Date")), interner.intern(new TsType.BasicType("Date")));
+        Assert.assertSame(
+                interner.intern(new TsType.UnionType(Arrays.asList(new TsType.StringLiteralType("x"), new TsType.StringLiteralType("y")))),
+                interner.intern(new TsType.UnionType(Arrays.asList(new TsType.StringLiteralType("x"), new TsType.StringLiteralType("y")))));
+        Assert.assertSame(
+                interner.intern(new TsType.ObjectType(new TsProperty("p", new TsType.OptionalType(TsType.Number)))),
+                interner.intern(new TsType.ObjectType(new TsProperty("p", new TsType.OptionalType(TsType.Number)))));
+    }
+
+    @Test
+    public void testDifferentTypes() {
+        final TsTypeInterner interner = new TsTypeInterner();
+        // symbols with the same name are different until names are resolved
+        Assert.assertNotSame(interner.intern(new TsType.ReferenceType(new Symbol("A"))), interner.intern(new TsType.ReferenceType(new Symbol("A"))));
+        final Symbol a = new Symbol("A");
+        Assert.assertNotSame(interner.intern(new TsType.ReferenceType(a)), interner.intern(new TsType.EnumReferenceType(a)));
+        Assert.assertNotSame(interner.intern(new TsType.BasicType("T")), interner.intern(new TsType.GenericVariableType("T")));
+        // built-in types are recognized by reference so they are not shared with equally named types
+        Assert.assertNotSame(TsType.Date, interner.intern(new TsType.BasicType("Date")));
+        Assert.assertSame(TsType.Date, interner.intern(TsType.Date));
+        Assert.assertNotSame(
+                interner.intern(new TsType.UnionType(Arrays.asList(TsType.String, TsType.Number))),
+                interner.intern(new TsType.UnionType(Arrays.asList(TsType.Number, TsType.String))));
+    }
+
+    @Test
+    public void testDuplicatesAreNotRetained() throws InterruptedException {
+        final TsTypeInterner interner = new TsTypeInterner();
+        final TsType canonical = interner.intern(new TsType.BasicArrayType(TsType.String));
+        TsType duplicate = new TsType.BasicArrayType(TsType.String);
+        Assert.assertSame(canonical, interner.intern(duplicate));
+        final WeakReference<TsType> duplicateReference = new WeakReference<>(duplicate);
+        duplicate = null;
+        for (int i = 0; i < 10 && duplicateReference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        Assert.assertNull(duplicateReference.get());
+        Assert.assertSame(canonical, interner.intern(new TsType.BasicArrayType(TsType.String)));
+    }
+
+    @Test
+    public void testModelTypesAreShared() {
+        final TypeScriptGenerator generator = new TypeScriptGenerator(TestUtils.settings());
+        final TsModel tsModel = generator.getModelCompiler().javaToTypeScript(generator.getModelParser().parseModel(Bean.class));
+        final List<TsPropertyModel> properties = tsModel.getBeans().get(0).getProperties();
+        Assert.assertSame(properties.get(0).getTsType(), properties.get(1).getTsType());
+    }
+
+    private static class Bean {
+        public List<Map<String, Bean>> list1;
+        public List<Map<String, Bean>> list2;
+    }
+
+}
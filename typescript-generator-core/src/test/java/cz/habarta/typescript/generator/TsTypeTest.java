@@ -47,4 +47,39 @@ public class TsTypeTest {
         )).format(settings));
     }
 
+    @Test
+    public void testTransformKeepsUnchangedInstances() {
+        final TsType type = new ObjectType(Arrays.asList(
+                new TsProperty("a", new BasicArrayType(String)),
+                new TsProperty("b", new IndexedArrayType(String, new OptionalType(Number)))
+        ));
+        final TsType transformed = TsType.transformTsType(type, new TsType.Transformer() {
+            @Override
+            public TsType transform(TsType tsType) {
+                return tsType == Date ? Number : tsType;
+            }
+        });
+        assertSame(type, transformed);
+    }
+
+    @Test
+    public void testTransformerChain() {
+        final TsType type = new BasicArrayType(new BasicArrayType(Date));
+        final TsType.Transformer dateToString = new TsType.Transformer() {
+            @Override
+            public TsType transform(TsType tsType) {
+                return tsType == Date ? String : tsType;
+            }
+        };
+        final TsType.Transformer stringToNumber = new TsType.Transformer() {
+            @Override
+            public TsType transform(TsType tsType) {
+                return tsType == String ? Number : tsType;
+            }
+        };
+        final TsType transformed = TsType.transformTsType(type, new TsType.Transformer.Chain(Arrays.asList(dateToString, stringToNumber)));
+        assertEquals("number[][]", transformed.format(TestUtils.settings()));
+        assertNotSame(type, transformed);
+    }
+
 }
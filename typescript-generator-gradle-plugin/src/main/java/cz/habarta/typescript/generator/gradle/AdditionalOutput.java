@@ -0,0 +1,74 @@
+
+package cz.habarta.typescript.generator.gradle;
+
+import cz.habarta.typescript.generator.*;
+import java.io.File;
+import java.util.List;
+
+
+/**
+ * Additional output generated from the same parsed classes as main output (see {@link GenerateTask#additionalOutputs}).
+ * Properties which are not specified are taken from main configuration.
+ */
+public class AdditionalOutput {
+
+    public String outputFile;
+    public TypeScriptFileType outputFileType;
+    public TypeScriptOutputKind outputKind;
+    public String module;
+    public String namespace;
+    public String umdNamespace;
+    public DateMapping mapDate;
+    public EnumMapping mapEnum;
+    public ClassMapping mapClasses;
+    public Boolean generateJaxrsApplicationInterface;
+    public Boolean generateJaxrsApplicationClient;
+    public List<String> extensionClasses;
+
+    /**
+     * Returns settings for this output created from settings of main output.
+     */
+    public Settings createSettings(Settings mainSettings, File resolvedOutputFile, ClassLoader classLoader) {
+        final Settings settings = mainSettings.copy();
+        if (outputFileType != null) {
+            settings.outputFileType = outputFileType;
+        }
+        if (outputKind != null) {
+            settings.outputKind = outputKind;
+        }
+        if (module != null) {
+            settings.module = module;
+        }
+        if (namespace != null) {
+            settings.namespace = namespace;
+        }
+        if (umdNamespace != null) {
+            settings.umdNamespace = umdNamespace;
+        }
+        if (mapDate != null) {
+            settings.mapDate = mapDate;
+        }
+        if (mapEnum != null) {
+            settings.mapEnum = mapEnum;
+        }
+        if (mapClasses != null) {
+            settings.mapClasses = mapClasses;
+        }
+        if (generateJaxrsApplicationInterface != null) {
+            settings.generateJaxrsApplicationInterface = generateJaxrsApplicationInterface;
+        }
+        if (generateJaxrsApplicationClient != null) {
+            settings.generateJaxrsApplicationClient = generateJaxrsApplicationClient;
+        }
+        if (extensionClasses != null) {
+            settings.loadExtensions(classLoader, extensionClasses);
+        }
+        // NPM package is only generated for main output
+        settings.generateNpmPackageJson = false;
+        settings.npmName = null;
+        settings.npmVersion = null;
+        settings.validateFileName(resolvedOutputFile);
+        return settings;
+    }
+
+}
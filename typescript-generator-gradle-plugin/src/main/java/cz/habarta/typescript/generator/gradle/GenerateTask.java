@@ -3,6 +3,7 @@ package cz.habarta.typescript.generator.gradle;
 
 import cz.habarta.typescript.generator.*;
 import cz.habarta.typescript.generator.Input;
+import cz.habarta.typescript.generator.util.Utils;
 import java.io.*;
 import java.net.*;
 import java.util.*;
@@ -13,6 +14,9 @@ import org.gradle.api.tasks.*;
 public class GenerateTask extends DefaultTask {
 
     public String outputFile;
+    public String outputDirectory;
+    public List<String> outputModuleMappings;
+    public List<AdditionalOutput> additionalOutputs;
     public TypeScriptFileType outputFileType;
     public TypeScriptOutputKind outputKind;
     public String module;
@@ -58,6 +62,18 @@ public class GenerateTask extends DefaultTask {
     public StringQuotes stringQuotes;
     public boolean displaySerializerWarning = true;
     public boolean disableJackson2ModuleDiscovery;
+    public boolean parallelParsing;
+    public boolean parallelEmitting;
+    public boolean disableTypeProcessorCache;
+    public boolean removeUnreachableTypes;
+    public List<String> reachabilityRootClasses;
+    public List<String> reachabilityRootAnnotations;
+    public boolean incrementalGeneration;
+    public boolean skipUnchangedOutput;
+    public boolean generateMetricsJson;
+    public boolean persistClasspathScanCache;
+    public boolean scanDirectoriesOnly;
+    public boolean discoverClassesFromBytecode;
 
     @TaskAction
     public void generate() throws Exception {
@@ -104,6 +120,7 @@ public class GenerateTask extends DefaultTask {
         settings.referencedFiles = referencedFiles;
         settings.importDeclarations = importDeclarations;
         settings.customTypeMappings = Settings.convertToMap(customTypeMappings);
+        settings.outputModuleMappings = Settings.convertToMap(outputModuleMappings);
         settings.mapDate = mapDate;
         settings.mapEnum = mapEnum;
         settings.mapClasses = mapClasses;
@@ -126,17 +143,60 @@ public class GenerateTask extends DefaultTask {
         settings.setStringQuotes(stringQuotes);
         settings.displaySerializerWarning = displaySerializerWarning;
         settings.disableJackson2ModuleDiscovery = disableJackson2ModuleDiscovery;
+        settings.parallelParsing = parallelParsing;
+        settings.parallelEmitting = parallelEmitting;
+        settings.disableTypeProcessorCache = disableTypeProcessorCache;
+        settings.removeUnreachableTypes = removeUnreachableTypes;
+        settings.reachabilityRootClasses = Utils.listFromNullable(reachabilityRootClasses);
+        settings.loadReachabilityRootAnnotations(classLoader, reachabilityRootAnnotations);
+        settings.generateMetricsJson = generateMetricsJson;
         settings.classLoader = classLoader;
         final File output = outputFile != null
                 ? getProject().file(outputFile)
                 : new File(new File(getProject().getBuildDir(), "typescript-generator"), getProject().getName() + settings.getExtension());
-        settings.validateFileName(output);
+        if (outputDirectory == null) {
+            settings.validateFileName(output);
+        }
+        if (incrementalGeneration) {
+            settings.incrementalCacheFile = new File(new File(getProject().getBuildDir(), "typescript-generator"), output.getName() + ".cache");
+        }
+
+        // Input
+        final Input.Parameters parameters = new Input.Parameters();
+        parameters.classNames = classes;
+        parameters.classNamePatterns = classPatterns;
+        parameters.jaxrsApplicationClassName = classesFromJaxrsApplication;
+        parameters.automaticJaxrsApplication = classesFromAutomaticJaxrsApplication;
+        parameters.isClassNameExcluded = settings.getExcludeFilter();
+        parameters.classLoader = classLoader;
+        parameters.scanDirectoriesOnly = scanDirectoriesOnly;
+        parameters.discoverClassesFromBytecode = discoverClassesFromBytecode;
+        if (persistClasspathScanCache) {
+            parameters.scanCacheFile = new File(new File(getProject().getBuildDir(), "typescript-generator"), "classpath-scan-cache.json");
+        }
 
         // TypeScriptGenerator
-        new TypeScriptGenerator(settings).generateTypeScript(
-                Input.fromClassNamesAndJaxrsApplication(classes, classPatterns, classesFromJaxrsApplication, classesFromAutomaticJaxrsApplication, settings.getExcludeFilter(), classLoader),
-                Output.to(output)
-        );
+        final Input input = Input.from(parameters);
+        final Output mainOutput = outputDirectory != null ? Output.toDirectory(getProject().file(outputDirectory)) : Output.to(output, skipUnchangedOutput);
+        if (additionalOutputs == null || additionalOutputs.isEmpty()) {
+            new TypeScriptGenerator(settings).generateTypeScript(input, mainOutput);
+        } else {
+            // input is parsed once and used for all outputs
+            final List<GenerationTarget> targets = new ArrayList<>();
+            targets.add(new GenerationTarget(settings, mainOutput));
+            for (AdditionalOutput additionalOutput : additionalOutputs) {
+                if (additionalOutput.outputFile == null) {
+                    throw new RuntimeException("Please specify 'outputFile' property of additional output.");
+                }
+                final File additionalFile = getProject().file(additionalOutput.outputFile);
+                final Settings additionalSettings = additionalOutput.createSettings(settings, additionalFile, classLoader);
+                if (incrementalGeneration) {
+                    additionalSettings.incrementalCacheFile = new File(new File(getProject().getBuildDir(), "typescript-generator"), additionalFile.getName() + ".cache");
+                }
+                targets.add(new GenerationTarget(additionalSettings, Output.to(additionalFile, skipUnchangedOutput)));
+            }
+            TypeScriptGenerator.generateTypeScript(input, targets);
+        }
     }
 
 }
@@ -0,0 +1,125 @@
+
+package cz.habarta.typescript.generator.maven;
+
+import cz.habarta.typescript.generator.*;
+import java.io.File;
+import java.util.List;
+
+
+/**
+ * Additional output generated from the same parsed classes as main output,
+ * see <code>additionalOutputs</code> parameter.
+ * Parameters which are not specified are taken from main configuration.
+ */
+public class AdditionalOutput {
+
+	/**
+	 * Path and name of generated TypeScript file (required).
+	 */
+	public File outputFile;
+
+	/**
+	 * Output file format, can be 'declarationFile' (.d.ts) or 'implementationFile' (.ts).
+	 */
+	public TypeScriptFileType outputFileType;
+
+	/**
+	 * Kind of generated TypeScript output, allowed values are 'global', 'module' or 'ambientModule'.
+	 */
+	public TypeScriptOutputKind outputKind;
+
+	/**
+	 * Name of generated ambient module.
+	 */
+	public String module;
+
+	/**
+	 * TypeScript namespace (previously called "internal module") where generated types will be placed.
+	 */
+	public String namespace;
+
+	/**
+	 * Turns proper module into UMD (Universal Module Definition) with specified namespace.
+	 */
+	public String umdNamespace;
+
+	/**
+	 * Specifies how {@link java.util.Date} will be mapped, allowed values are 'asDate', 'asNumber', 'asString'.
+	 */
+	public DateMapping mapDate;
+
+	/**
+	 * Specifies how enums will be mapped, allowed values are 'asUnion', 'asInlineUnion', 'asEnum', 'asNumberBasedEnum'.
+	 */
+	public EnumMapping mapEnum;
+
+	/**
+	 * Specifies whether classes will be mapped to classes or interfaces, allowed values are 'asInterfaces', 'asClasses'.
+	 */
+	public ClassMapping mapClasses;
+
+	/**
+	 * If <code>true</code> interface for JAX-RS REST application will be generated.
+	 */
+	public Boolean generateJaxrsApplicationInterface;
+
+	/**
+	 * If <code>true</code> client for JAX-RS REST application will be generated.
+	 */
+	public Boolean generateJaxrsApplicationClient;
+
+	/**
+	 * List of extensions specified as fully qualified class name.
+	 */
+	public List<String> extensions;
+
+	/**
+	 * Returns settings for this output created from settings of main output.
+	 */
+	public Settings createSettings(Settings mainSettings, ClassLoader classLoader) {
+		if (outputFile == null) {
+			throw new RuntimeException("'outputFile' must be specified for additional output.");
+		}
+		final Settings settings = mainSettings.copy();
+		if (outputFileType != null) {
+			settings.outputFileType = outputFileType;
+		}
+		if (outputKind != null) {
+			settings.outputKind = outputKind;
+		}
+		if (module != null) {
+			settings.module = module;
+		}
+		if (namespace != null) {
+			settings.namespace = namespace;
+		}
+		if (umdNamespace != null) {
+			settings.umdNamespace = umdNamespace;
+		}
+		if (mapDate != null) {
+			settings.mapDate = mapDate;
+		}
+		if (mapEnum != null) {
+			settings.mapEnum = mapEnum;
+		}
+		if (mapClasses != null) {
+			settings.mapClasses = mapClasses;
+		}
+		if (generateJaxrsApplicationInterface != null) {
+			settings.generateJaxrsApplicationInterface = generateJaxrsApplicationInterface;
+		}
+		if (generateJaxrsApplicationClient != null) {
+			settings.generateJaxrsApplicationClient = generateJaxrsApplicationClient;
+		}
+		if (extensions != null) {
+			settings.loadExtensions(classLoader, extensions);
+		}
+		// NPM package is only generated for main output
+		settings.generateNpmPackageJson = false;
+		settings.npmName = null;
+		settings.npmVersion = null;
+		settings.validateFileName(outputFile);
+		return settings;
+	}
+
+}
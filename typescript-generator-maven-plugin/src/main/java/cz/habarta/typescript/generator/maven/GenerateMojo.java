@@ -2,6 +2,7 @@
 package cz.habarta.typescript.generator.maven;
 
 import cz.habarta.typescript.generator.*;
+import cz.habarta.typescript.generator.util.Utils;
 import java.io.*;
 import java.net.*;
 import java.util.*;
@@ -23,6 +24,43 @@ public class GenerateMojo extends AbstractMojo {
 	@Parameter
 	private File outputFile;
 
+	/**
+	 * Directory where generated TypeScript modules are written. When this
+	 * parameter is specified one module is generated for each Java package
+	 * (or group configured using 'outputModuleMappings') together with
+	 * 'index' file which re-exports all modules. Modules import declarations
+	 * they use from other modules. Only files with changed content are
+	 * written. Requires 'outputKind' to be 'module', 'outputFile' is ignored.
+	 */
+	@Parameter
+	private File outputDirectory;
+
+	/**
+	 * List of mappings which group declarations into modules when
+	 * 'outputDirectory' is used. Item format is:
+	 * "javaPackageOrClass:moduleName", for example
+	 * "com.acme.api.orders:orders". Declarations of classes without mapping
+	 * are written to module named by their Java package.
+	 */
+	@Parameter
+	private List<String> outputModuleMappings;
+
+	/**
+	 * List of additional outputs generated from the same input classes.
+	 * Input classes are parsed only once and the parsed model is used for all outputs
+	 * which are then generated in parallel.
+	 * Each additional output is specified using <code>additionalOutput</code> element
+	 * with required <code>outputFile</code> parameter and optional parameters
+	 * which override main configuration: <code>outputFileType</code>, <code>outputKind</code>,
+	 * <code>module</code>, <code>namespace</code>, <code>umdNamespace</code>,
+	 * <code>mapDate</code>, <code>mapEnum</code>, <code>mapClasses</code>,
+	 * <code>generateJaxrsApplicationInterface</code>, <code>generateJaxrsApplicationClient</code>
+	 * and <code>extensions</code>.
+	 * NPM <code>package.json</code> is only generated for main output.
+	 */
+	@Parameter
+	private List<AdditionalOutput> additionalOutputs;
+
 	/**
 	 * Output file format, can be 'declarationFile' (.d.ts) or
 	 * 'implementationFile' (.ts). Setting this parameter to
@@ -122,7 +160,8 @@ public class GenerateMojo extends AbstractMojo {
 	/**
 	 * Library used in JSON classes. Supported values are 'jackson1'
 	 * (annotations from 'org.codehaus.jackson.annotate' package), 'jackson2'
-	 * (annotations from 'com.fasterxml.jackson.annotation' package), `jaxb`
+	 * (annotations from 'com.fasterxml.jackson.annotation' package), 'jackson2Fast'
+	 * (the same as 'jackson2' but common cases are resolved without creating Jackson serializers), `jaxb`
 	 * (annotations from 'javax.xml.bind.annotation' package). Required
 	 * parameter, recommended value is 'jackson2'.
 	 */
@@ -380,6 +419,105 @@ public class GenerateMojo extends AbstractMojo {
 	@Parameter
 	private boolean disableJackson2ModuleDiscovery;
 
+	/**
+	 * If <code>true</code> classes are parsed in parallel using all available processors.
+	 * Generated output is the same as when classes are parsed sequentially.
+	 */
+	@Parameter
+	private boolean parallelParsing;
+
+	/**
+	 * If <code>true</code> declarations are rendered in parallel using all available processors
+	 * and then written in the same order as when they are rendered sequentially.
+	 * Generated output is the same as without this option.
+	 */
+	@Parameter
+	private boolean parallelEmitting;
+
+	/**
+	 * Turns off caching of type processor results.
+	 * By default each java type is processed by type processors only once per generation
+	 * which is not suitable for custom type processors returning different results for the same type.
+	 */
+	@Parameter
+	private boolean disableTypeProcessorCache;
+
+	/**
+	 * If <code>true</code> beans, enums and type aliases which are not reachable from root types are not generated.
+	 * Root types are classes specified in <code>reachabilityRootClasses</code> parameter,
+	 * classes annotated with one of <code>reachabilityRootAnnotations</code>
+	 * and generated JAX-RS application interface and client.
+	 * Other types are reachable when they are referenced (directly or transitively) from root types.
+	 * Removed types are reported in the build log.
+	 */
+	@Parameter
+	private boolean removeUnreachableTypes;
+
+	/**
+	 * List of fully qualified class names or glob patterns (the same syntax as <code>classPatterns</code>)
+	 * of root types for <code>removeUnreachableTypes</code> parameter.
+	 */
+	@Parameter
+	private List<String> reachabilityRootClasses;
+
+	/**
+	 * List of fully qualified annotation names, classes annotated with any of these annotations
+	 * are root types for <code>removeUnreachableTypes</code> parameter.
+	 */
+	@Parameter
+	private List<String> reachabilityRootAnnotations;
+
+	/**
+	 * If <code>true</code> generator stores fingerprint of the generation
+	 * (settings, input classes and bytecode of all classes used in the model)
+	 * in <code>target/typescript-generator</code> directory
+	 * and skips generation in subsequent builds when nothing changed.
+	 */
+	@Parameter
+	private boolean incrementalGeneration;
+
+	/**
+	 * If <code>true</code> output file is only written when its content changed
+	 * (ignoring timestamp in generated file comment).
+	 * This preserves modification time of the file and avoids unnecessary rebuilds of dependent TypeScript code.
+	 */
+	@Parameter
+	private boolean skipUnchangedOutput;
+
+	/**
+	 * If <code>true</code> metrics of individual generation stages (wall time, CPU time, allocated bytes)
+	 * and slowest parsed classes are written to <code>&lt;outputFile&gt;.metrics.json</code> file.
+	 */
+	@Parameter
+	private boolean generateMetricsJson;
+
+	/**
+	 * If <code>true</code> result of classpath scanning (used by <code>classPatterns</code>
+	 * and <code>classesFromAutomaticJaxrsApplication</code> parameters) is stored
+	 * in <code>target/typescript-generator</code> directory and reused by subsequent builds
+	 * as long as classpath doesn't change.
+	 * Scan result is always shared by all plugin executions in the same build.
+	 */
+	@Parameter
+	private boolean persistClasspathScanCache;
+
+	/**
+	 * If <code>true</code> classpath scanning skips all jar files (dependencies)
+	 * and only scans directories on classpath like <code>target/classes</code>.
+	 * This can make scanning much faster when input classes are part of the project itself.
+	 */
+	@Parameter
+	private boolean scanDirectoriesOnly;
+
+	/**
+	 * If <code>true</code> classes specified using <code>classes</code> and <code>classPatterns</code> parameters
+	 * are filtered using information read directly from class files
+	 * (synthetic, anonymous and excluded classes are never loaded)
+	 * and input classes are loaded lazily without running their static initializers.
+	 */
+	@Parameter
+	private boolean discoverClassesFromBytecode;
+
 	@Parameter(defaultValue = "${project}", readonly = true, required = true)
 	private MavenProject project;
 
@@ -424,6 +562,7 @@ public class GenerateMojo extends AbstractMojo {
 			settings.referencedFiles = referencedFiles;
 			settings.importDeclarations = importDeclarations;
 			settings.customTypeMappings = Settings.convertToMap(customTypeMappings);
+			settings.outputModuleMappings = Settings.convertToMap(outputModuleMappings);
 			settings.mapDate = mapDate;
 			settings.mapEnum = mapEnum;
 			settings.mapClasses = mapClasses;
@@ -447,11 +586,23 @@ public class GenerateMojo extends AbstractMojo {
 			settings.setStringQuotes(stringQuotes);
 			settings.displaySerializerWarning = displaySerializerWarning;
 			settings.disableJackson2ModuleDiscovery = disableJackson2ModuleDiscovery;
+			settings.parallelParsing = parallelParsing;
+			settings.parallelEmitting = parallelEmitting;
+			settings.disableTypeProcessorCache = disableTypeProcessorCache;
+			settings.removeUnreachableTypes = removeUnreachableTypes;
+			settings.reachabilityRootClasses = Utils.listFromNullable(reachabilityRootClasses);
+			settings.loadReachabilityRootAnnotations(classLoader, reachabilityRootAnnotations);
+			settings.generateMetricsJson = generateMetricsJson;
 			settings.classLoader = classLoader;
 			final File output = outputFile != null ? outputFile
 					: new File(new File(projectBuildDirectory, "typescript-generator"),
 							project.getArtifactId() + settings.getExtension());
-			settings.validateFileName(output);
+			if (outputDirectory == null) {
+				settings.validateFileName(output);
+			}
+			if (incrementalGeneration) {
+				settings.incrementalCacheFile = new File(new File(projectBuildDirectory, "typescript-generator"), output.getName() + ".cache");
+			}
 			
 			for (String mixin : mixins) {
 				String[] mixinClasses = mixin.split(":");
@@ -460,11 +611,38 @@ public class GenerateMojo extends AbstractMojo {
 				settings.mixins.computeIfAbsent(inputClass,(k)->new HashSet<Class<?>>()).add(mixinClass);
 			}
 
+			// Input
+			final Input.Parameters parameters = new Input.Parameters();
+			parameters.classNames = classes;
+			parameters.classNamePatterns = classPatterns;
+			parameters.jaxrsApplicationClassName = classesFromJaxrsApplication;
+			parameters.automaticJaxrsApplication = classesFromAutomaticJaxrsApplication;
+			parameters.isClassNameExcluded = settings.getExcludeFilter();
+			parameters.classLoader = classLoader;
+			parameters.scanDirectoriesOnly = scanDirectoriesOnly;
+			parameters.discoverClassesFromBytecode = discoverClassesFromBytecode;
+			if (persistClasspathScanCache) {
+				parameters.scanCacheFile = new File(new File(projectBuildDirectory, "typescript-generator"), "classpath-scan-cache.json");
+			}
+
 			// TypeScriptGenerator
-			new TypeScriptGenerator(settings).generateTypeScript(
-					Input.fromClassNamesAndJaxrsApplication(classes, classPatterns, classesFromJaxrsApplication,
-							classesFromAutomaticJaxrsApplication, settings.getExcludeFilter(), classLoader),
-					Output.to(output));
+			final Input input = Input.from(parameters);
+			final Output mainOutput = outputDirectory != null ? Output.toDirectory(outputDirectory) : Output.to(output, skipUnchangedOutput);
+			if (additionalOutputs == null || additionalOutputs.isEmpty()) {
+				new TypeScriptGenerator(settings).generateTypeScript(input, mainOutput);
+			} else {
+				// input is parsed once and used for all outputs
+				final List<GenerationTarget> targets = new ArrayList<>();
+				targets.add(new GenerationTarget(settings, mainOutput));
+				for (AdditionalOutput additionalOutput : additionalOutputs) {
+					final Settings additionalSettings = additionalOutput.createSettings(settings, classLoader);
+					if (incrementalGeneration) {
+						additionalSettings.incrementalCacheFile = new File(new File(projectBuildDirectory, "typescript-generator"), additionalOutput.outputFile.getName() + ".cache");
+					}
+					targets.add(new GenerationTarget(additionalSettings, Output.to(additionalOutput.outputFile, skipUnchangedOutput)));
+				}
+				TypeScriptGenerator.generateTypeScript(input, targets);
+			}
 
 		} catch (DependencyResolutionRequiredException | IOException | ClassNotFoundException e) {
 			throw new RuntimeException(e);